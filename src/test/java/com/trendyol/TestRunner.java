@@ -1,18 +1,21 @@
 package com.trendyol;
 
-import io.cucumber.junit.Cucumber;
-import io.cucumber.junit.CucumberOptions;
-import org.junit.runner.RunWith;
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
 
-@RunWith(Cucumber.class)
-@CucumberOptions(
-    features = "src/test/resources/features",
-    glue = {"com.trendyol.steps", "com.trendyol.hooks"},
-    plugin = {
-        "pretty",
-        "html:target/cucumber-reports/cucumber-pretty.html",
-        "json:target/cucumber-reports/CucumberTestReport.json"
-    }
-)
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+
+// Parallel execution is configured in src/test/resources/junit-platform.properties
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
+@ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.trendyol.steps,com.trendyol.hooks")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty,"
+    + "html:target/cucumber-reports/cucumber-pretty.html,"
+    + "json:target/cucumber-reports/CucumberTestReport.json,"
+    + "com.trendyol.metrics.TimingPlugin")
 public class TestRunner {
 }
@@ -0,0 +1,29 @@
+package com.trendyol.archive;
+
+/**
+ * Layout of an archive file (all numbers big-endian, strings as an int byte length followed
+ * by UTF-8):
+ *
+ * <pre>
+ * header   int magic "TYHA", int version, int entry count, int record count, long index offset
+ * records  int status, string status text, int header count, (string name, string value)*,
+ *          byte body encoding, int stored length, int original length, stored body bytes
+ * index    (string key, long record offset)* at the index offset
+ * </pre>
+ *
+ * Identical responses (a script every page loads, the same API answer in several scenarios)
+ * are stored once and shared by several index entries. Bodies that shrink when deflated are
+ * stored deflated.
+ */
+final class ArchiveFormat {
+
+    static final int MAGIC = 0x54594841;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    static final byte BODY_RAW = 0;
+    static final byte BODY_DEFLATED = 1;
+
+    private ArchiveFormat() {
+    }
+}
@@ -0,0 +1,130 @@
+package com.trendyol.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read side of an archive file (see {@link ArchiveFormat}). The file is memory-mapped and only
+ * the index is read up front; a response is decoded from the mapping when it is replayed, so
+ * opening a large archive costs little and unused responses are never paged in.
+ */
+final class ArchiveReader {
+
+    private final Path file;
+    private final MappedByteBuffer mapping;
+    private final Map<String, Long> offsets;
+    private final int recordCount;
+
+    private ArchiveReader(Path file, MappedByteBuffer mapping, Map<String, Long> offsets, int recordCount) {
+        this.file = file;
+        this.mapping = mapping;
+        this.offsets = offsets;
+        this.recordCount = recordCount;
+    }
+
+    static ArchiveReader open(Path file) throws IOException {
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Archive " + file + " is larger than 2 GB");
+            }
+            // The mapping stays valid after the channel is closed
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer header = mapping.duplicate();
+        if (header.remaining() < ArchiveFormat.HEADER_BYTES || header.getInt() != ArchiveFormat.MAGIC) {
+            throw new IOException(file + " is not an HTTP archive");
+        }
+        int version = header.getInt();
+        if (version != ArchiveFormat.VERSION) {
+            throw new IOException("Unsupported archive version " + version + " in " + file);
+        }
+        int entryCount = header.getInt();
+        int recordCount = header.getInt();
+        long indexOffset = header.getLong();
+
+        ByteBuffer index = mapping.duplicate();
+        index.position((int) indexOffset);
+        Map<String, Long> offsets = new HashMap<>(entryCount * 2);
+        for (int i = 0; i < entryCount; i++) {
+            offsets.put(readString(index), index.getLong());
+        }
+        return new ArchiveReader(file, mapping, offsets, recordCount);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    int getEntryCount() {
+        return offsets.size();
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    boolean contains(String key) {
+        return offsets.containsKey(key);
+    }
+
+    /**
+     * Decodes the response stored under {@code key}, or returns {@code null} if there is none.
+     * Safe to call from several threads: every read works on its own view of the mapping.
+     */
+    ArchivedResponse get(String key) {
+        Long offset = offsets.get(key);
+        if (offset == null) {
+            return null;
+        }
+        ByteBuffer record = mapping.duplicate();
+        record.position(offset.intValue());
+        int status = record.getInt();
+        String statusText = readString(record);
+        int headerCount = record.getInt();
+        List<String[]> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new String[]{readString(record), readString(record)});
+        }
+        byte encoding = record.get();
+        byte[] stored = new byte[record.getInt()];
+        int originalLength = record.getInt();
+        record.get(stored);
+        byte[] body = encoding == ArchiveFormat.BODY_DEFLATED ? inflate(stored, originalLength) : stored;
+        return new ArchivedResponse(status, statusText, headers, body);
+    }
+
+    private static byte[] inflate(byte[] stored, int originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            byte[] body = new byte[originalLength];
+            int length = 0;
+            while (length < originalLength && !inflater.finished()) {
+                length += inflater.inflate(body, length, originalLength - length);
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt response body in archive", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
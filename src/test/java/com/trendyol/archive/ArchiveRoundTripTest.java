@@ -0,0 +1,121 @@
+package com.trendyol.archive;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ArchiveRoundTripTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsBackRawAndDeflatedBodies() throws IOException {
+        byte[] incompressible = new byte[4096];
+        new Random(42).nextBytes(incompressible);
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            html.append("<div class=\"p-card-wrppr\">Kablosuz kulaklık</div>\n");
+        }
+        byte[] compressible = html.toString().getBytes(StandardCharsets.UTF_8);
+
+        ArchiveWriter writer = new ArchiveWriter();
+        writer.add("GET https://cdn.example.com/image.bin", response(200, "OK", incompressible));
+        writer.add("GET https://www.trendyol.com/sr?q=kulaklık", response(200, "OK", compressible));
+        writer.add("GET https://www.trendyol.com/empty", response(204, "", new byte[0]));
+        ArchiveReader reader = write(writer);
+
+        assertArrayEquals(incompressible, reader.get("GET https://cdn.example.com/image.bin").getBody());
+        assertArrayEquals(compressible, reader.get("GET https://www.trendyol.com/sr?q=kulaklık").getBody());
+        ArchivedResponse empty = reader.get("GET https://www.trendyol.com/empty");
+        assertEquals(204, empty.getStatus());
+        assertEquals("", empty.getStatusText());
+        assertEquals(0, empty.getBody().length);
+        // The repetitive page is stored deflated, so the whole file is far smaller than it
+        assertTrue(Files.size(reader.getFile()) < compressible.length / 4 + incompressible.length + 1024);
+    }
+
+    @Test
+    public void keepsStatusAndRepeatedHeadersInOrder() throws IOException {
+        List<String[]> headers = new ArrayList<>();
+        headers.add(new String[]{"Content-Type", "text/html; charset=utf-8"});
+        headers.add(new String[]{"Set-Cookie", "a=1; Path=/"});
+        headers.add(new String[]{"Set-Cookie", "b=2; Path=/; HttpOnly"});
+        headers.add(new String[]{"X-Açıklama", "Türkçe değer"});
+        ArchiveWriter writer = new ArchiveWriter();
+        writer.add("GET https://www.trendyol.com/", new ArchivedResponse(302, "Found", headers, new byte[]{1, 2, 3}));
+        ArchivedResponse read = write(writer).get("GET https://www.trendyol.com/");
+
+        assertEquals(302, read.getStatus());
+        assertEquals("Found", read.getStatusText());
+        assertEquals(headers.size(), read.getHeaders().size());
+        for (int i = 0; i < headers.size(); i++) {
+            assertArrayEquals(headers.get(i), read.getHeaders().get(i));
+        }
+        assertArrayEquals(new byte[]{1, 2, 3}, read.getBody());
+    }
+
+    @Test
+    public void storesIdenticalResponsesOnce() throws IOException {
+        byte[] script = "console.log('analytics');".getBytes(StandardCharsets.UTF_8);
+        ArchiveWriter writer = new ArchiveWriter();
+        writer.add("search\tGET https://cdn.example.com/a.js\t0", response(200, "OK", script));
+        writer.add("cart\tGET https://cdn.example.com/a.js\t0", response(200, "OK", script));
+        writer.add("cart\tGET https://cdn.example.com/a.js\t1", response(200, "OK", script));
+        writer.add("cart\tGET https://cdn.example.com/b.js\t0", response(200, "OK", "other".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(4, writer.getEntryCount());
+        assertEquals(2, writer.getRecordCount());
+
+        ArchiveReader reader = write(writer);
+        assertEquals(4, reader.getEntryCount());
+        assertEquals(2, reader.getRecordCount());
+        assertArrayEquals(script, reader.get("search\tGET https://cdn.example.com/a.js\t0").getBody());
+        assertArrayEquals(script, reader.get("cart\tGET https://cdn.example.com/a.js\t1").getBody());
+        assertArrayEquals("other".getBytes(StandardCharsets.UTF_8), reader.get("cart\tGET https://cdn.example.com/b.js\t0").getBody());
+    }
+
+    @Test
+    public void addIfAbsentKeepsTheFirstResponse() throws IOException {
+        ArchiveWriter writer = new ArchiveWriter();
+        writer.addIfAbsent("GET https://www.trendyol.com/api", response(200, "OK", "first".getBytes(StandardCharsets.UTF_8)));
+        writer.addIfAbsent("GET https://www.trendyol.com/api", response(200, "OK", "second".getBytes(StandardCharsets.UTF_8)));
+        ArchiveReader reader = write(writer);
+
+        assertArrayEquals("first".getBytes(StandardCharsets.UTF_8), reader.get("GET https://www.trendyol.com/api").getBody());
+        assertFalse(reader.contains("GET https://www.trendyol.com/other"));
+        assertNull(reader.get("GET https://www.trendyol.com/other"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFilesThatAreNotArchives() throws IOException {
+        Path file = folder.newFile("not-an-archive.bin").toPath();
+        Files.write(file, new byte[ArchiveFormat.HEADER_BYTES]);
+        ArchiveReader.open(file);
+    }
+
+    private ArchiveReader write(ArchiveWriter writer) throws IOException {
+        Path file = folder.getRoot().toPath().resolve("archive.bin");
+        writer.writeTo(file);
+        return ArchiveReader.open(file);
+    }
+
+    private static ArchivedResponse response(int status, String statusText, byte[] body) {
+        return new ArchivedResponse(status, statusText,
+            new ArrayList<>(Collections.singletonList(new String[]{"Content-Type", "application/octet-stream"})), body);
+    }
+}
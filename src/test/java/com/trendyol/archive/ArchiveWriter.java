@@ -0,0 +1,146 @@
+package com.trendyol.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Collects responses during a recording run and writes them as one archive file (see
+ * {@link ArchiveFormat}). Records are encoded as they arrive, so memory holds the compact form.
+ */
+final class ArchiveWriter {
+
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+    // key -> record offset, in recording order
+    private final Map<String, Long> index = new LinkedHashMap<>();
+    // digest of an encoded record -> its offset, so identical responses are stored once
+    private final Map<String, Long> offsetsByDigest = new HashMap<>();
+
+    synchronized void add(String key, ArchivedResponse response) {
+        index.put(key, store(response));
+    }
+
+    /**
+     * Adds {@code response} under {@code key} unless the key already has one.
+     */
+    synchronized void addIfAbsent(String key, ArchivedResponse response) {
+        if (!index.containsKey(key)) {
+            index.put(key, store(response));
+        }
+    }
+
+    private long store(ArchivedResponse response) {
+        byte[] record = encode(response);
+        String digest = digest(record);
+        Long offset = offsetsByDigest.get(digest);
+        if (offset == null) {
+            offset = (long) ArchiveFormat.HEADER_BYTES + records.size();
+            records.write(record, 0, record.length);
+            offsetsByDigest.put(digest, offset);
+        }
+        return offset;
+    }
+
+    synchronized int getEntryCount() {
+        return index.size();
+    }
+
+    synchronized int getRecordCount() {
+        return offsetsByDigest.size();
+    }
+
+    /**
+     * Writes the archive to a temporary file next to {@code file} and moves it into place, so
+     * an interrupted run never leaves a half-written archive behind.
+     */
+    synchronized void writeTo(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream archive = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                archive.writeInt(ArchiveFormat.MAGIC);
+                archive.writeInt(ArchiveFormat.VERSION);
+                archive.writeInt(index.size());
+                archive.writeInt(offsetsByDigest.size());
+                archive.writeLong((long) ArchiveFormat.HEADER_BYTES + records.size());
+                records.writeTo(archive);
+                for (Map.Entry<String, Long> entry : index.entrySet()) {
+                    writeString(archive, entry.getKey());
+                    archive.writeLong(entry.getValue());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] encode(ArchivedResponse response) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.getBody().length + 256);
+            DataOutputStream record = new DataOutputStream(bytes);
+            record.writeInt(response.getStatus());
+            writeString(record, response.getStatusText());
+            record.writeInt(response.getHeaders().size());
+            for (String[] header : response.getHeaders()) {
+                writeString(record, header[0]);
+                writeString(record, header[1]);
+            }
+            byte[] body = response.getBody();
+            byte[] deflated = deflate(body);
+            boolean useDeflated = deflated.length < body.length;
+            record.writeByte(useDeflated ? ArchiveFormat.BODY_DEFLATED : ArchiveFormat.BODY_RAW);
+            byte[] stored = useDeflated ? deflated : body;
+            record.writeInt(stored.length);
+            record.writeInt(body.length);
+            record.write(stored);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String digest(byte[] record) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(record));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.trendyol.archive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One HTTP response as the browser received it: status, headers and the decoded body.
+ */
+final class ArchivedResponse {
+
+    private final int status;
+    private final String statusText;
+    // name/value pairs in the order the server sent them; names may repeat (Set-Cookie)
+    private final List<String[]> headers;
+    private final byte[] body;
+
+    ArchivedResponse(int status, String statusText, List<String[]> headers, byte[] body) {
+        this.status = status;
+        this.statusText = statusText;
+        this.headers = Collections.unmodifiableList(headers);
+        this.body = body;
+    }
+
+    /**
+     * Builds a response from the {@code responseHeaders} of a paused {@code Fetch} request.
+     * Transport headers are dropped: the body DevTools hands out is already decoded, so the
+     * original Content-Encoding and Content-Length would no longer match it.
+     */
+    static ArchivedResponse fromDevTools(int status, String statusText, Object responseHeaders, byte[] body) {
+        List<String[]> headers = new ArrayList<>();
+        if (responseHeaders instanceof List) {
+            for (Object header : (List<?>) responseHeaders) {
+                if (!(header instanceof Map)) {
+                    continue;
+                }
+                String name = String.valueOf(((Map<?, ?>) header).get("name"));
+                String value = String.valueOf(((Map<?, ?>) header).get("value"));
+                String lower = name.toLowerCase(Locale.ROOT);
+                if (!lower.equals("content-encoding") && !lower.equals("content-length") && !lower.equals("transfer-encoding")) {
+                    headers.add(new String[]{name, value});
+                }
+            }
+        }
+        return new ArchivedResponse(status, statusText == null ? "" : statusText, headers, body);
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    String getStatusText() {
+        return statusText;
+    }
+
+    List<String[]> getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+}
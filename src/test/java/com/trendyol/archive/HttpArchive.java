@@ -0,0 +1,384 @@
+package com.trendyol.archive;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+import utils.BrowserDevTools;
+import utils.Logger;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records every HTTP response the browser receives into an archive file, or serves a run
+ * entirely from such an archive, through the DevTools {@code Fetch} domain.
+ *
+ * <p>Settings (system properties):
+ * <ul>
+ *   <li>{@code http.archive} - {@code off} (default), {@code record} or {@code replay}</li>
+ *   <li>{@code http.archive.file} - archive location (default {@code .cache/http-archive.bin})</li>
+ *   <li>{@code http.archive.latencyMs} - delay added to every replayed response (default 0)</li>
+ *   <li>{@code http.archive.onMiss} - {@code fail} (default) fails requests the archive has no
+ *       answer for, {@code network} lets them through</li>
+ *   <li>{@code http.archive.ignoreParams} - query parameters left out of the lookup key, for
+ *       cache busters that change on every request (default {@code _,cb,t,ts,timestamp,rnd})</li>
+ * </ul>
+ *
+ * <p>Responses are keyed by scenario, request and how often the scenario made that request
+ * before, so a cart page fetched before and after adding a product replays both versions.
+ * When a scenario makes a request more often than in the recording it gets the last recorded
+ * answer; a request the scenario never made gets the first answer any scenario received.
+ *
+ * <p>Only the tab DevTools is attached to is intercepted. Requests a new tab makes before the
+ * page objects follow it go to the network.
+ */
+public final class HttpArchive {
+
+    private static final Logger LOG = Logger.get(HttpArchive.class);
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private static final Mode MODE = parseMode(TestConfig.getString("http.archive", "off"));
+    private static final Path FILE = Paths.get(TestConfig.getString("http.archive.file", ".cache/http-archive.bin"));
+    private static final long LATENCY_MILLIS = Math.max(0, TestConfig.getLong("http.archive.latencyMs", 0));
+    private static final boolean MISS_TO_NETWORK = "network".equalsIgnoreCase(TestConfig.getString("http.archive.onMiss", "fail"));
+    private static final Set<String> IGNORED_PARAMS = new HashSet<>(Arrays.asList(
+        TestConfig.getString("http.archive.ignoreParams", "_,cb,t,ts,timestamp,rnd").split("\\s*,\\s*")));
+
+    private static final int MAX_LOGGED_MISSES = 20;
+
+    private static final Map<WebDriver, Session> SESSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Fetch handlers block on DevTools round trips (and the added latency), so they run here
+    // instead of on the thread that delivers DevTools events
+    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "http-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicInteger recorded = new AtomicInteger();
+    private static final AtomicInteger replayed = new AtomicInteger();
+    private static final AtomicInteger missed = new AtomicInteger();
+    private static final List<String> missedUrls = Collections.synchronizedList(new ArrayList<>());
+
+    private static ArchiveWriter writer;
+    private static ArchiveReader reader;
+
+    static {
+        if (MODE != Mode.OFF) {
+            Runtime.getRuntime().addShutdownHook(new Thread(HttpArchive::finish, "http-archive-finish"));
+        }
+    }
+
+    private HttpArchive() {
+    }
+
+    public static Mode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Starts recording or replaying for {@code driver}'s browser, depending on
+     * {@code http.archive}. Called once per browser, before its first navigation.
+     *
+     * @throws IllegalStateException in replay mode when the archive cannot be read
+     */
+    public static void install(WebDriver driver) {
+        if (MODE == Mode.OFF) {
+            return;
+        }
+        BrowserDevTools devTools = BrowserDevTools.of(driver);
+        if (!devTools.isAvailable()) {
+            LOG.warn("HTTP archive " + MODE.name().toLowerCase(Locale.ROOT) + " needs DevTools, which this browser does not offer");
+            return;
+        }
+        Session session = new Session();
+        SESSIONS.put(driver, session);
+        if (MODE == Mode.RECORD) {
+            synchronized (HttpArchive.class) {
+                if (writer == null) {
+                    writer = new ArchiveWriter();
+                }
+            }
+            devTools.install("http-archive", tools -> enable(tools, "Response", session,
+                (params, requestKey, occurrence) -> record(tools, session, params, requestKey, occurrence)));
+        } else {
+            ArchiveReader archive = openReader();
+            devTools.install("http-archive", tools -> enable(tools, "Request", session,
+                (params, requestKey, occurrence) -> replay(tools, session, archive, params, requestKey, occurrence)));
+        }
+    }
+
+    /**
+     * Starts a new scope for {@code driver}'s responses. Browsers are reused between scenarios,
+     * so the steps call this when a scenario takes the browser over.
+     */
+    public static void startScenario(WebDriver driver, String scenario) {
+        Session session = SESSIONS.get(driver);
+        if (session != null) {
+            session.start(scenario);
+        }
+    }
+
+    private static void enable(DevTools tools, String stage, Session session, PausedRequestHandler handler) {
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("urlPattern", "*");
+        pattern.put("requestStage", stage);
+        tools.send(new Command<>("Fetch.enable",
+            Collections.<String, Object>singletonMap("patterns", Collections.singletonList(pattern))));
+        tools.addListener(BrowserDevTools.event("Fetch.requestPaused"), params -> {
+            // Number repeated requests here, in the order DevTools reports them; the executor's
+            // threads may run the handlers in any order
+            Map<?, ?> request = (Map<?, ?>) params.get("request");
+            String requestKey = requestKey(request);
+            boolean counted = !isLoopback(String.valueOf(request.get("url")))
+                && (stage.equals("Request") || params.get("responseStatusCode") instanceof Number);
+            int occurrence = counted ? session.nextOccurrence(requestKey) : -1;
+            EXECUTOR.execute(() -> handler.handle(params, requestKey, occurrence));
+        });
+    }
+
+    private static void record(DevTools tools, Session session, Map<String, Object> params, String requestKey, int occurrence) {
+        String requestId = String.valueOf(params.get("requestId"));
+        try {
+            Object status = params.get("responseStatusCode");
+            if (occurrence < 0) {
+                // Loopback request or no response (e.g. a failed request)
+                return;
+            }
+            ArchivedResponse response = ArchivedResponse.fromDevTools(((Number) status).intValue(),
+                (String) params.get("responseStatusText"), params.get("responseHeaders"), responseBody(tools, requestId));
+            writer.add(session.scopedKey(requestKey, occurrence), response);
+            writer.addIfAbsent(requestKey, response);
+            recorded.incrementAndGet();
+        } catch (Exception e) {
+            LOG.debug(() -> "Could not record response " + requestId + ": " + e.getMessage());
+        } finally {
+            sendQuietly(tools, "Fetch.continueRequest", Collections.<String, Object>singletonMap("requestId", requestId));
+        }
+    }
+
+    private static byte[] responseBody(DevTools tools, String requestId) {
+        try {
+            Map<String, Object> result = tools.send(new Command<>("Fetch.getResponseBody",
+                Collections.<String, Object>singletonMap("requestId", requestId), Json.MAP_TYPE));
+            String body = String.valueOf(result.get("body"));
+            return Boolean.TRUE.equals(result.get("base64Encoded"))
+                ? Base64.getDecoder().decode(body)
+                : body.getBytes(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            // Redirects and empty responses have no body to read
+            return new byte[0];
+        }
+    }
+
+    private static void replay(DevTools tools, Session session, ArchiveReader archive, Map<String, Object> params,
+                               String requestKey, int occurrence) {
+        String requestId = String.valueOf(params.get("requestId"));
+        Map<?, ?> request = (Map<?, ?>) params.get("request");
+        String url = String.valueOf(request.get("url"));
+        if (occurrence < 0) {
+            sendQuietly(tools, "Fetch.continueRequest", Collections.<String, Object>singletonMap("requestId", requestId));
+            return;
+        }
+        ArchivedResponse response = archive.get(session.lookupKey(archive, requestKey, occurrence));
+        if (response == null) {
+            missed.incrementAndGet();
+            if (missedUrls.size() < MAX_LOGGED_MISSES) {
+                missedUrls.add(request.get("method") + " " + url);
+            }
+            LOG.debug(() -> "Not in the archive: " + request.get("method") + " " + url);
+            if (MISS_TO_NETWORK) {
+                sendQuietly(tools, "Fetch.continueRequest", Collections.<String, Object>singletonMap("requestId", requestId));
+            } else {
+                Map<String, Object> failure = new HashMap<>();
+                failure.put("requestId", requestId);
+                failure.put("errorReason", "InternetDisconnected");
+                sendQuietly(tools, "Fetch.failRequest", failure);
+            }
+            return;
+        }
+
+        Map<String, Object> fulfill = new HashMap<>();
+        fulfill.put("requestId", requestId);
+        fulfill.put("responseCode", response.getStatus());
+        if (!response.getStatusText().isEmpty()) {
+            fulfill.put("responsePhrase", response.getStatusText());
+        }
+        List<Map<String, Object>> headers = new ArrayList<>();
+        for (String[] header : response.getHeaders()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", header[0]);
+            entry.put("value", header[1]);
+            headers.add(entry);
+        }
+        fulfill.put("responseHeaders", headers);
+        fulfill.put("body", Base64.getEncoder().encodeToString(response.getBody()));
+        replayed.incrementAndGet();
+        if (LATENCY_MILLIS > 0) {
+            EXECUTOR.schedule(() -> sendQuietly(tools, "Fetch.fulfillRequest", fulfill), LATENCY_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            sendQuietly(tools, "Fetch.fulfillRequest", fulfill);
+        }
+    }
+
+    private static void sendQuietly(DevTools tools, String method, Map<String, Object> params) {
+        try {
+            tools.send(new Command<>(method, params));
+        } catch (Exception e) {
+            // The tab navigated away or was closed while the request was paused
+            LOG.debug(() -> method + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Method and URL without the fragment and ignored query parameters, plus a hash of the body
+     * for requests that send one.
+     */
+    static String requestKey(Map<?, ?> request) {
+        String url = String.valueOf(request.get("url"));
+        int fragment = url.indexOf('#');
+        if (fragment >= 0) {
+            url = url.substring(0, fragment);
+        }
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            StringBuilder kept = new StringBuilder();
+            for (String parameter : url.substring(query + 1).split("&")) {
+                int equals = parameter.indexOf('=');
+                String name = equals >= 0 ? parameter.substring(0, equals) : parameter;
+                if (!parameter.isEmpty() && !IGNORED_PARAMS.contains(name)) {
+                    kept.append(kept.length() == 0 ? "?" : "&").append(parameter);
+                }
+            }
+            url = url.substring(0, query) + kept;
+        }
+        String key = request.get("method") + " " + url;
+        Object postData = request.get("postData");
+        return postData == null ? key : key + " #" + Integer.toHexString(postData.hashCode());
+    }
+
+    private static boolean isLoopback(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return "127.0.0.1".equals(host) || "localhost".equalsIgnoreCase(host) || "[::1]".equals(host);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static synchronized ArchiveReader openReader() {
+        if (reader == null) {
+            if (!Files.isRegularFile(FILE)) {
+                throw new IllegalStateException("No HTTP archive at " + FILE.toAbsolutePath()
+                    + "; record one first with -Dhttp.archive=record");
+            }
+            try {
+                reader = ArchiveReader.open(FILE);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read HTTP archive " + FILE.toAbsolutePath(), e);
+            }
+            LOG.info("Replaying " + reader.getEntryCount() + " responses (" + reader.getRecordCount()
+                + " distinct) from " + FILE + (LATENCY_MILLIS > 0 ? " with " + LATENCY_MILLIS + " ms added latency" : ""));
+        }
+        return reader;
+    }
+
+    private static void finish() {
+        EXECUTOR.shutdown();
+        try {
+            EXECUTOR.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (MODE == Mode.RECORD) {
+            ArchiveWriter archive;
+            synchronized (HttpArchive.class) {
+                archive = writer;
+            }
+            if (archive == null || archive.getEntryCount() == 0) {
+                return;
+            }
+            try {
+                archive.writeTo(FILE);
+                LOG.info("HTTP archive: recorded " + recorded.get() + " responses (" + archive.getRecordCount()
+                    + " distinct, " + Files.size(FILE) / 1024 + " KB) to " + FILE);
+            } catch (IOException e) {
+                LOG.error("Could not write HTTP archive " + FILE, e);
+            }
+        } else if (MODE == Mode.REPLAY) {
+            LOG.info("HTTP archive: replayed " + replayed.get() + " responses, " + missed.get() + " not in the archive"
+                + (missedUrls.isEmpty() ? "" : " (e.g. " + missedUrls + ")"));
+        }
+    }
+
+    private static Mode parseMode(String value) {
+        try {
+            return Mode.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid value for http.archive: '" + value + "', using off");
+            return Mode.OFF;
+        }
+    }
+
+    // Gets a paused request with its key and occurrence (-1 when it is not archived)
+    private interface PausedRequestHandler {
+        void handle(Map<String, Object> params, String requestKey, int occurrence);
+    }
+
+    /**
+     * Which scenario a browser is serving and how often it made each request so far.
+     */
+    private static final class Session {
+        private volatile String scenario = "";
+        private final Map<String, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+
+        void start(String name) {
+            occurrences.clear();
+            scenario = name;
+        }
+
+        int nextOccurrence(String requestKey) {
+            return occurrences.computeIfAbsent(requestKey, key -> new AtomicInteger()).getAndIncrement();
+        }
+
+        // The recorded response for this occurrence, or the closest earlier one
+        String lookupKey(ArchiveReader archive, String requestKey, int occurrence) {
+            for (int i = occurrence; i >= 0; i--) {
+                String key = scopedKey(requestKey, i);
+                if (archive.contains(key)) {
+                    return key;
+                }
+            }
+            return requestKey;
+        }
+
+        String scopedKey(String requestKey, int occurrence) {
+            return scenario + "\t" + requestKey + "\t" + occurrence;
+        }
+    }
+}
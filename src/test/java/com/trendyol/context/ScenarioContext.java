@@ -0,0 +1,121 @@
+package com.trendyol.context;
+
+import com.trendyol.hooks.ScenarioReport;
+import com.trendyol.pages.PageMetrics;
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.WebDriver;
+import utils.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State that belongs to one running scenario: its browser, its Extent report and the product
+ * data steps store for later verification.
+ *
+ * <p>Cucumber runs all hooks and steps of a scenario on the same thread, so the context is
+ * bound to that thread. Hooks and steps must read it from here instead of static fields,
+ * otherwise parallel scenarios would log into each other's reports.
+ */
+public class ScenarioContext {
+
+    private static final ThreadLocal<ScenarioContext> CURRENT = new ThreadLocal<>();
+
+    private final Scenario scenario;
+    private ScenarioReport report;
+    private WebDriver driver;
+
+    // Product details captured before adding to cart, verified on the cart page
+    private String storedProductName;
+    private String storedProductPrice;
+
+    // Browser-side metrics of every page the scenario navigated to, in order
+    private final List<PageMetrics> pageMetrics = new ArrayList<>();
+
+    private ScenarioContext(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * Creates the context for the scenario that is starting on the calling thread.
+     */
+    public static ScenarioContext start(Scenario scenario) {
+        ScenarioContext context = new ScenarioContext(scenario);
+        CURRENT.set(context);
+        Logger.startScenario(scenario.getName());
+        return context;
+    }
+
+    /**
+     * Returns the calling thread's scenario context.
+     *
+     * @throws IllegalStateException if no scenario is running on this thread
+     */
+    public static ScenarioContext current() {
+        ScenarioContext context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("No scenario is running on thread " + Thread.currentThread().getName());
+        }
+        return context;
+    }
+
+    /**
+     * Returns the calling thread's scenario context, or {@code null} outside a scenario.
+     */
+    public static ScenarioContext currentOrNull() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Detaches the context from the calling thread once the scenario is over.
+     */
+    public static void end() {
+        CURRENT.remove();
+        Logger.endScenario();
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public ScenarioReport getReport() {
+        return report;
+    }
+
+    public void setReport(ScenarioReport report) {
+        this.report = report;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public void setDriver(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public String getStoredProductName() {
+        return storedProductName;
+    }
+
+    public void setStoredProductName(String storedProductName) {
+        this.storedProductName = storedProductName;
+    }
+
+    public String getStoredProductPrice() {
+        return storedProductPrice;
+    }
+
+    public void setStoredProductPrice(String storedProductPrice) {
+        this.storedProductPrice = storedProductPrice;
+    }
+
+    public void addPageMetrics(PageMetrics metrics) {
+        pageMetrics.add(metrics);
+    }
+
+    public List<PageMetrics> getPageMetrics() {
+        return Collections.unmodifiableList(pageMetrics);
+    }
+}
@@ -1,66 +1,62 @@
 package com.trendyol.hooks;
 
 import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.trendyol.context.ScenarioContext;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 public class ExtentReportHooks {
 
+    // Shared by all scenario threads; per-scenario state lives in ScenarioContext
     private static ExtentReports extent;
-    private static ExtentTest test;
-    private static WebDriver driver;
+    private static ReportWriter reportWriter;
+    private static final ScreenshotService screenshots = new ScreenshotService(Paths.get("target/screenshots"));
 
-    public static void setDriver(WebDriver webDriver) {
-        driver = webDriver;
-    }
-
-    @Before
+    // Runs before the step definition hooks so their log lines land in this scenario's test
+    @Before(order = 0)
     public void setUp(Scenario scenario) {
-        if (extent == null) {
-            initializeExtentReports();
-        }
-        
-        test = extent.createTest(scenario.getName());
-        test.log(Status.INFO, "Starting scenario: " + scenario.getName());
+        ScenarioReport report = getReportWriter().open(scenario.getName());
+        ScenarioContext.start(scenario).setReport(report);
+        report.log(Status.INFO, "Starting scenario: " + scenario.getName());
     }
 
     @After
     public void tearDown(Scenario scenario) {
-        if (scenario.isFailed()) {
-            test.log(Status.FAIL, "Scenario failed: " + scenario.getName());
-            
-            // Take screenshot on failure
-            if (driver != null) {
-                try {
-                    byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                    String screenshotPath = takeScreenshot(scenario.getName());
-                    test.addScreenCaptureFromPath(screenshotPath);
-                } catch (Exception e) {
-                    test.log(Status.WARNING, "Could not take screenshot: " + e.getMessage());
-                }
+        ScenarioContext context = ScenarioContext.current();
+        ScenarioReport report = context.getReport();
+        WebDriver driver = context.getDriver();
+
+        CompletableFuture<String> screenshotPath = null;
+        if (scenario.isFailed() && driver != null) {
+            // Take screenshot on failure; written in the background
+            try {
+                screenshotPath = screenshots.capture(driver, scenario.getName());
+            } catch (Exception e) {
+                report.log(Status.WARNING, "Could not take screenshot: " + e.getMessage());
             }
-        } else {
-            test.log(Status.PASS, "Scenario passed: " + scenario.getName());
         }
         
-        extent.flush();
+        // Recorded and flushed by the report writer thread, off the scenario's critical path
+        report.finish(scenario.getName(), scenario.isFailed(), screenshotPath);
+    }
+
+    private static synchronized ReportWriter getReportWriter() {
+        if (extent == null) {
+            initializeExtentReports();
+            reportWriter = new ReportWriter(extent);
+        }
+        return reportWriter;
     }
 
-    private void initializeExtentReports() {
+    private static void initializeExtentReports() {
         extent = new ExtentReports();
         
         // Create reports directory
@@ -85,42 +81,26 @@ public class ExtentReportHooks {
         extent.setSystemInfo("Framework", "Cucumber + Selenium");
     }
 
-    private String takeScreenshot(String scenarioName) throws IOException {
-        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String screenshotName = scenarioName.replaceAll("\\s+", "_") + "_" + timestamp + ".png";
-        String screenshotPath = "target/screenshots/" + screenshotName;
-        
-        // Create screenshots directory
-        new File("target/screenshots").mkdirs();
-        
-        // Save screenshot
-        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-        Files.write(Paths.get(screenshotPath), screenshot);
-        
-        return screenshotPath;
-    }
-
     public static void logInfo(String message) {
-        if (test != null) {
-            test.log(Status.INFO, message);
-        }
+        log(Status.INFO, message);
     }
 
     public static void logPass(String message) {
-        if (test != null) {
-            test.log(Status.PASS, message);
-        }
+        log(Status.PASS, message);
     }
 
     public static void logFail(String message) {
-        if (test != null) {
-            test.log(Status.FAIL, message);
-        }
+        log(Status.FAIL, message);
     }
 
     public static void logWarning(String message) {
-        if (test != null) {
-            test.log(Status.WARNING, message);
+        log(Status.WARNING, message);
+    }
+
+    private static void log(Status status, String message) {
+        ScenarioContext context = ScenarioContext.currentOrNull();
+        if (context != null && context.getReport() != null) {
+            context.getReport().log(status, message);
         }
     }
 }
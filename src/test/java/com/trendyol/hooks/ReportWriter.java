@@ -0,0 +1,132 @@
+package com.trendyol.hooks;
+
+import com.aventstack.extentreports.ExtentReports;
+import utils.TestConfig;
+import utils.Logger;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the Extent report: the only thread that creates tests, logs into them and flushes.
+ *
+ * <p>Every {@code flush()} re-renders the whole Spark HTML from the tests' log lists, which
+ * Spark reads without locking. So scenario threads never call Extent themselves; their
+ * {@link ScenarioReport} puts each line and the final result on a queue, and this thread
+ * applies them in order and flushes once {@code report.flush.everyScenarios} (default 20)
+ * scenarios have finished or {@code report.flush.intervalSeconds} (default 30) have passed,
+ * and one last time at JVM shutdown.
+ */
+final class ReportWriter {
+
+    private static final Logger LOG = Logger.get(ReportWriter.class);
+
+    private static final int FLUSH_EVERY_SCENARIOS = Math.max(1, TestConfig.getInt("report.flush.everyScenarios", 20));
+    private static final long FLUSH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(TestConfig.getLong("report.flush.intervalSeconds", 30));
+
+    private final ExtentReports extent;
+    private final BlockingQueue<Queued> queue = new LinkedBlockingQueue<>();
+    private volatile boolean stopped;
+
+    // Guarded by this
+    private int unflushed;
+    private long lastFlushMillis = System.currentTimeMillis();
+    private int flushes;
+
+    ReportWriter(ExtentReports extent) {
+        this.extent = extent;
+        Thread worker = new Thread(this::run, "extent-report-writer");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "extent-report-final-flush"));
+    }
+
+    /**
+     * Starts a scenario's report; its test is created by the writer thread.
+     */
+    ScenarioReport open(String scenarioName) {
+        return new ScenarioReport(this, scenarioName);
+    }
+
+    /**
+     * Queues an update. Never blocks. {@code finishesScenario} marks a scenario's last update.
+     */
+    void enqueue(ScenarioReport.Update update, boolean finishesScenario) {
+        if (!stopped) {
+            queue.offer(new Queued(update, finishesScenario));
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            try {
+                Queued update = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                synchronized (this) {
+                    if (stopped) {
+                        return;
+                    }
+                    if (update != null) {
+                        apply(update);
+                    }
+                    drainQueue();
+                    if (unflushed >= FLUSH_EVERY_SCENARIOS
+                        || (unflushed > 0 && System.currentTimeMillis() - lastFlushMillis >= FLUSH_INTERVAL_MILLIS)) {
+                        flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void drainQueue() {
+        Queued update;
+        while ((update = queue.poll()) != null) {
+            apply(update);
+        }
+    }
+
+    private void apply(Queued queued) {
+        try {
+            queued.update.applyTo(extent);
+        } catch (RuntimeException e) {
+            // Lose the one line, keep the writer alive
+            LOG.warn("Report writer error: " + e.getMessage(), e);
+        }
+        if (queued.finishesScenario) {
+            unflushed++;
+        }
+    }
+
+    private void flush() {
+        try {
+            extent.flush();
+        } catch (RuntimeException e) {
+            // The next flush writes the whole report again
+            LOG.warn("Report flush failed: " + e.getMessage(), e);
+        }
+        unflushed = 0;
+        lastFlushMillis = System.currentTimeMillis();
+        flushes++;
+    }
+
+    // Runs after the worker has stopped applying updates, since both hold this
+    private synchronized void close() {
+        stopped = true;
+        drainQueue();
+        flush();
+        LOG.info("Extent report written (" + flushes + " flushes)");
+    }
+
+    private static final class Queued {
+        private final ScenarioReport.Update update;
+        private final boolean finishesScenario;
+
+        private Queued(ScenarioReport.Update update, boolean finishesScenario) {
+            this.update = update;
+            this.finishesScenario = finishesScenario;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.trendyol.hooks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One scenario's entry in the Extent report, as seen from the scenario thread.
+ *
+ * <p>Nothing here touches Extent directly: every call queues an update on the
+ * {@link ReportWriter}, and the writer thread creates the test, applies the lines in order
+ * and flushes. Scenario threads therefore never wait for a report render.
+ */
+public final class ScenarioReport {
+
+    private static final long SCREENSHOT_WAIT_SECONDS = 30;
+
+    private final ReportWriter writer;
+    // Created and used by the writer thread only
+    private ExtentTest test;
+
+    ScenarioReport(ReportWriter writer, String scenarioName) {
+        this.writer = writer;
+        writer.enqueue(extent -> test = extent.createTest(scenarioName), false);
+    }
+
+    public void log(Status status, String message) {
+        writer.enqueue(extent -> test.log(status, message), false);
+    }
+
+    public void log(Status status, Markup markup) {
+        writer.enqueue(extent -> test.log(status, markup), false);
+    }
+
+    /**
+     * Queues the scenario's outcome; the writer thread counts it towards the next flush.
+     * {@code screenshotPath} may be {@code null} if there is no screenshot.
+     */
+    void finish(String scenarioName, boolean failed, CompletableFuture<String> screenshotPath) {
+        writer.enqueue(extent -> writeResult(scenarioName, failed, screenshotPath), true);
+    }
+
+    private void writeResult(String scenarioName, boolean failed, CompletableFuture<String> screenshotPath) {
+        if (failed) {
+            test.log(Status.FAIL, "Scenario failed: " + scenarioName);
+        } else {
+            test.log(Status.PASS, "Scenario passed: " + scenarioName);
+        }
+        if (screenshotPath != null) {
+            // Usually written by now; the screenshot writer never takes long per frame
+            try {
+                String path = screenshotPath.get(SCREENSHOT_WAIT_SECONDS, TimeUnit.SECONDS);
+                if (path != null) {
+                    test.addScreenCaptureFromPath(path);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                test.log(Status.WARNING, "Screenshot not available: " + e);
+            }
+        }
+    }
+
+    /**
+     * A change to the report, applied by the writer thread.
+     */
+    interface Update {
+        void applyTo(ExtentReports extent);
+    }
+}
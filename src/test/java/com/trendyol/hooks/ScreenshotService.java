@@ -0,0 +1,159 @@
+package com.trendyol.hooks;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import utils.TestConfig;
+import utils.TurkishText;
+import utils.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes failure screenshots without making the scenario thread wait for the disk.
+ *
+ * <p>The scenario thread only grabs the PNG bytes from the browser. A single background
+ * thread re-encodes them ({@code screenshot.format}, jpg by default) and writes them. Frames
+ * with the same content are written once and shared. Disk use is capped by
+ * {@code screenshot.maxTotalMB}. When the writer falls behind by more than
+ * {@code screenshot.queueSize} frames, new ones are dropped rather than queued.
+ */
+final class ScreenshotService {
+
+    private static final Logger LOG = Logger.get(ScreenshotService.class);
+
+    private static final String FORMAT = TestConfig.getString("screenshot.format", "jpg").toLowerCase(Locale.ROOT);
+    private static final float JPEG_QUALITY = TestConfig.getInt("screenshot.jpegQuality", 70) / 100f;
+    private static final long MAX_TOTAL_BYTES = TestConfig.getLong("screenshot.maxTotalMB", 200) * 1024 * 1024;
+    private static final int QUEUE_SIZE = TestConfig.getInt("screenshot.queueSize", 16);
+    private static final int MAX_NAME_LENGTH = 80;
+
+    private final Path directory;
+    private final ThreadPoolExecutor writer;
+    // content hash -> file already holding that frame (null if it was not written); writer thread only
+    private final Map<String, String> pathsByHash = new HashMap<>();
+    private long bytesWritten;
+
+    ScreenshotService(Path directory) {
+        this.directory = directory;
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Captures the browser and queues the frame for writing.
+     *
+     * @return completes with the written file's path, or with {@code null} if the frame was
+     *         dropped (queue full, disk budget used up or the write failed)
+     */
+    CompletableFuture<String> capture(WebDriver driver, String scenarioName) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        String baseName = TurkishText.toFileName(scenarioName, MAX_NAME_LENGTH) + "_" + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date())
+            + "_" + Thread.currentThread().getId();
+        CompletableFuture<String> path = new CompletableFuture<>();
+        try {
+            writer.execute(() -> path.complete(write(png, baseName)));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Screenshot writer is behind, dropping screenshot of: " + scenarioName);
+            path.complete(null);
+        }
+        return path;
+    }
+
+    private String write(byte[] png, String baseName) {
+        try {
+            String hash = sha256(png);
+            if (pathsByHash.containsKey(hash)) {
+                // Same frame as an earlier failure (e.g. the same error page); reuse that file
+                return pathsByHash.get(hash);
+            }
+            String path = null;
+            byte[] encoded = encode(png);
+            if (bytesWritten + encoded.length > MAX_TOTAL_BYTES) {
+                LOG.warn("Screenshot disk budget used up, not writing " + baseName);
+            } else {
+                Files.createDirectories(directory);
+                Path file = directory.resolve(baseName + "." + extension());
+                Files.write(file, encoded);
+                bytesWritten += encoded.length;
+                path = file.toString();
+            }
+            pathsByHash.put(hash, path);
+            return path;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not write screenshot " + baseName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] encode(byte[] png) throws IOException {
+        if (!"jpg".equals(FORMAT) && !"jpeg".equals(FORMAT)) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        // JPEG has no alpha channel
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+
+        ImageWriter jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 4);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            jpegWriter.setOutput(stream);
+            ImageWriteParam param = jpegWriter.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            jpegWriter.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            jpegWriter.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String extension() {
+        return "jpg".equals(FORMAT) || "jpeg".equals(FORMAT) ? "jpg" : "png";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.trendyol.metrics;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Counts every call that goes through a decorated driver (or an element, alert, navigation...
+ * obtained from it) and how long it took. Each call is added to the running step's
+ * {@link StepMetrics} and to the page-object method that made it ({@link PageMethodStats}).
+ *
+ * <p>A call is attributed to the outermost {@code com.trendyol.pages} method on the stack, i.e.
+ * the page method a step called, so everything {@code CartPage.getProductsTotal} does through
+ * its helpers counts for {@code getProductsTotal}. Calls made outside page objects (hooks,
+ * steps, the driver pool) are grouped as {@code (outside page objects)}.
+ *
+ * <p>If decorated calls nest on one thread (a call made while another is still running, e.g.
+ * from a PageFactory proxy), only the outermost one is counted.
+ */
+public class CommandMetricsListener implements WebDriverListener {
+
+    private static final String PAGES_PACKAGE = "com.trendyol.pages.";
+    private static final String OUTSIDE_PAGES = "(outside page objects)";
+    private static final StackWalker STACK = StackWalker.getInstance();
+
+    private static final ThreadLocal<Call> CALL = ThreadLocal.withInitial(Call::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        Call call = CALL.get();
+        if (call.depth++ == 0) {
+            call.method = method;
+            call.start = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        Call call = CALL.get();
+        if (call.depth > 0 && --call.depth == 0) {
+            long nanos = System.nanoTime() - call.start;
+            StepMetrics.recordCommand(nanos);
+            PageMethodStats.record(callingPageMethod(),
+                call.method.getDeclaringClass().getSimpleName() + "." + call.method.getName(), nanos);
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        // afterAnyCall is not called when the command throws
+        afterAnyCall(target, method, args, null);
+    }
+
+    private static String callingPageMethod() {
+        Optional<StackWalker.StackFrame> outermost = STACK.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(PAGES_PACKAGE))
+            .reduce((inner, outer) -> outer));
+        if (!outermost.isPresent()) {
+            return OUTSIDE_PAGES;
+        }
+        String className = outermost.get().getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + outermost.get().getMethodName();
+    }
+
+    private static final class Call {
+        int depth;
+        long start;
+        Method method;
+    }
+}
@@ -0,0 +1,84 @@
+package com.trendyol.metrics;
+
+/**
+ * Fixed-memory latency histogram in the style of HdrHistogram: values (microseconds) are
+ * counted in log-linear buckets, 32 per power of two. Percentiles come back within about 3% of
+ * the real value, whatever the range. Not thread-safe; {@link TimingStats} guards it.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;            // 32
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;                 // values below 64 get their own bucket
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long max;
+    private long sum;
+
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    long getCount() {
+        return totalCount;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Value at {@code percentile} (0-100): the upper end of the bucket holding that rank,
+     * capped at the largest value recorded.
+     */
+    long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValueIn(i));
+            }
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
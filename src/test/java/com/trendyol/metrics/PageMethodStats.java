@@ -0,0 +1,62 @@
+package com.trendyol.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebDriver commands issued by one page-object method (e.g. {@code CartPage.getProductsTotal})
+ * over the whole run: how many, how long they took and which commands they were.
+ */
+final class PageMethodStats {
+
+    private static final Map<String, PageMethodStats> ALL = new ConcurrentHashMap<>();
+
+    private final String method;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<String, Long> commandCounts = new TreeMap<>();
+    private long totalNanos;
+
+    private PageMethodStats(String method) {
+        this.method = method;
+    }
+
+    static void record(String pageMethod, String command, long nanos) {
+        ALL.computeIfAbsent(pageMethod, PageMethodStats::new).add(command, nanos);
+    }
+
+    /**
+     * All page methods that issued commands, the chattiest first.
+     */
+    static List<PageMethodStats> getResults() {
+        List<PageMethodStats> results = new ArrayList<>(ALL.values());
+        results.sort(Comparator.comparingLong(PageMethodStats::getCommandCount).reversed());
+        return results;
+    }
+
+    private synchronized void add(String command, long nanos) {
+        latencies.record(nanos / 1_000);
+        totalNanos += nanos;
+        commandCounts.merge(command, 1L, Long::sum);
+    }
+
+    synchronized long getCommandCount() {
+        return latencies.getCount();
+    }
+
+    synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("method", method);
+        map.put("commands", latencies.getCount());
+        map.put("totalMs", Math.round(totalNanos / 100_000.0) / 10.0);
+        map.put("p50Ms", latencies.getValueAtPercentile(50) / 1_000.0);
+        map.put("p95Ms", latencies.getValueAtPercentile(95) / 1_000.0);
+        map.put("maxMs", latencies.getMax() / 1_000.0);
+        map.put("byCommand", new LinkedHashMap<>(commandCounts));
+        return map;
+    }
+}
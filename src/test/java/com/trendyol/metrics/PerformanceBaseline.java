@@ -0,0 +1,262 @@
+package com.trendyol.metrics;
+
+import org.openqa.selenium.json.Json;
+import utils.Logger;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Step and scenario timing baseline, kept under version control in
+ * {@code src/test/resources/performance-baseline.json}.
+ *
+ * <p>{@code metrics.baseline=record} adds the p50 and p95 of every step and scenario of this run
+ * to the file, keeping the last {@code metrics.baseline.maxRuns} (default 5) reference runs.
+ * In the default {@code compare} mode each step and scenario of the run is checked against
+ * those runs: it has regressed when its p50 or p95 is above
+ * <pre>
+ *   median(reference runs) + max(tolerancePercent% of the median, minDeltaMs, sigmas * 1.4826 * MAD)
+ * </pre>
+ * The median/MAD pair keeps one slow reference run from moving the limit, the MAD term widens
+ * it for steps that are noisy across runs, and the minimum delta stops millisecond-level steps
+ * from failing on jitter. Regressions are logged, or fail the run with
+ * {@code metrics.baseline.onRegression=fail}. {@code metrics.baseline=off} skips all of this.
+ */
+final class PerformanceBaseline {
+
+    private static final Logger LOG = Logger.get(PerformanceBaseline.class);
+
+    static final int VERSION = 1;
+
+    private final Path file = Paths.get(TestConfig.getString("metrics.baseline.file",
+        "src/test/resources/performance-baseline.json"));
+    private final String mode = TestConfig.getString("metrics.baseline", "compare").toLowerCase(Locale.ROOT);
+    private final int maxRuns = Math.max(1, TestConfig.getInt("metrics.baseline.maxRuns", 5));
+    private final double tolerancePercent = TestConfig.getDouble("metrics.baseline.tolerancePercent", 25);
+    private final double minDeltaMs = TestConfig.getDouble("metrics.baseline.minDeltaMs", 500);
+    private final double sigmas = TestConfig.getDouble("metrics.baseline.sigmas", 3);
+    private final boolean failOnRegression = "fail".equalsIgnoreCase(
+        TestConfig.getString("metrics.baseline.onRegression", "warn"));
+
+    /**
+     * Records or checks the run's results, depending on {@code metrics.baseline}.
+     *
+     * @throws AssertionError if a step regressed and {@code metrics.baseline.onRegression=fail}
+     */
+    void apply(List<TimingStats> results) {
+        List<TimingStats> gated = new ArrayList<>();
+        for (TimingStats result : results) {
+            if (result.getKind() != TimingStats.Kind.HOOK && result.getCount() > 0) {
+                gated.add(result);
+            }
+        }
+        if (gated.isEmpty()) {
+            return;
+        }
+        switch (mode) {
+            case "record":
+                record(gated);
+                break;
+            case "compare":
+                compare(gated);
+                break;
+            case "off":
+                break;
+            default:
+                LOG.warn("Unknown metrics.baseline mode '" + mode + "', expected record, compare or off");
+        }
+    }
+
+    private void record(List<TimingStats> results) {
+        Map<String, Entry> entries = load();
+        for (TimingStats result : results) {
+            Entry entry = entries.computeIfAbsent(keyOf(result), key -> new Entry(result.getKind(), result.getName()));
+            entry.addRun(result.getPercentileMillis(50), result.getPercentileMillis(95), maxRuns);
+        }
+
+        List<Map<String, Object>> json = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            json.add(entry.toMap());
+        }
+        Map<String, Object> baseline = new LinkedHashMap<>();
+        baseline.put("version", VERSION);
+        baseline.put("updatedAt", Instant.now().toString());
+        baseline.put("entries", json);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, new Json().toJson(baseline).getBytes(StandardCharsets.UTF_8));
+            LOG.info("Recorded " + results.size() + " timings into performance baseline " + file);
+        } catch (IOException e) {
+            LOG.warn("Could not write performance baseline " + file, e);
+        }
+    }
+
+    private void compare(List<TimingStats> results) {
+        Map<String, Entry> entries = load();
+        if (entries.isEmpty()) {
+            LOG.info("No performance baseline at " + file + ", run with -Dmetrics.baseline=record to create one");
+            return;
+        }
+        List<String> regressions = new ArrayList<>();
+        for (TimingStats result : results) {
+            Entry entry = entries.get(keyOf(result));
+            if (entry == null) {
+                continue;
+            }
+            check(result, "p50", result.getPercentileMillis(50), entry.p50, regressions);
+            check(result, "p95", result.getPercentileMillis(95), entry.p95, regressions);
+        }
+        if (regressions.isEmpty()) {
+            LOG.info("No step or scenario slower than the performance baseline");
+            return;
+        }
+        String report = "Performance regressions against " + file + ":\n  " + String.join("\n  ", regressions);
+        if (failOnRegression) {
+            LOG.error(report);
+            throw new AssertionError(report);
+        }
+        LOG.warn(report);
+    }
+
+    private void check(TimingStats result, String percentile, double actualMs, List<Double> reference, List<String> regressions) {
+        if (reference.isEmpty()) {
+            return;
+        }
+        double median = median(reference);
+        double limit = limit(reference, tolerancePercent, minDeltaMs, sigmas);
+        if (actualMs > limit) {
+            regressions.add(String.format(Locale.ROOT, "%s '%s' %s %.0f ms, baseline %.0f ms over %d runs (limit %.0f ms)",
+                result.getKind().name().toLowerCase(Locale.ROOT), result.getName(), percentile, actualMs, median,
+                reference.size(), limit));
+        }
+    }
+
+    private Map<String, Entry> load() {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try {
+            Map<String, Object> baseline = new Json().toType(
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Object version = baseline.get("version");
+            if (!(version instanceof Number) || ((Number) version).intValue() != VERSION) {
+                LOG.warn("Ignoring performance baseline " + file + " with version " + version + ", expected " + VERSION);
+                return entries;
+            }
+            for (Object item : (List<?>) baseline.get("entries")) {
+                Entry entry = Entry.fromMap((Map<?, ?>) item);
+                entries.put(entry.key(), entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not read performance baseline " + file, e);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private static String keyOf(TimingStats result) {
+        return result.getKind() + " " + result.getName();
+    }
+
+    // The regression limit from the class comment
+    static double limit(List<Double> reference, double tolerancePercent, double minDeltaMs, double sigmas) {
+        double median = median(reference);
+        double allowance = Math.max(median * tolerancePercent / 100, minDeltaMs);
+        return median + Math.max(allowance, sigmas * 1.4826 * mad(reference, median));
+    }
+
+    static double median(List<Double> values) {
+        double[] sorted = new double[values.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = values.get(i);
+        }
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    // Median absolute deviation; 1.4826 * MAD estimates the standard deviation without outliers
+    static double mad(List<Double> values, double median) {
+        List<Double> deviations = new ArrayList<>(values.size());
+        for (double value : values) {
+            deviations.add(Math.abs(value - median));
+        }
+        return median(deviations);
+    }
+
+    /**
+     * Reference p50/p95 of one step or scenario, one value per recorded run, oldest first.
+     */
+    private static final class Entry {
+        final TimingStats.Kind kind;
+        final String name;
+        final List<Double> p50 = new ArrayList<>();
+        final List<Double> p95 = new ArrayList<>();
+
+        Entry(TimingStats.Kind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        String key() {
+            return kind + " " + name;
+        }
+
+        void addRun(double p50Ms, double p95Ms, int maxRuns) {
+            p50.add(round(p50Ms));
+            p95.add(round(p95Ms));
+            while (p50.size() > maxRuns) {
+                p50.remove(0);
+                p95.remove(0);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("kind", kind.name().toLowerCase(Locale.ROOT));
+            map.put("name", name);
+            map.put("p50Ms", p50);
+            map.put("p95Ms", p95);
+            return map;
+        }
+
+        static Entry fromMap(Map<?, ?> map) {
+            Entry entry = new Entry(TimingStats.Kind.valueOf(((String) map.get("kind")).toUpperCase(Locale.ROOT)),
+                (String) map.get("name"));
+            entry.p50.addAll(toDoubles(map.get("p50Ms")));
+            entry.p95.addAll(toDoubles(map.get("p95Ms")));
+            return entry;
+        }
+
+        private static List<Double> toDoubles(Object values) {
+            if (!(values instanceof List)) {
+                return Collections.emptyList();
+            }
+            List<Double> doubles = new ArrayList<>();
+            for (Object value : (List<?>) values) {
+                doubles.add(((Number) value).doubleValue());
+            }
+            return doubles;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 10) / 10.0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.trendyol.metrics;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class PerformanceBaselineTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void medianOfOddCountIsTheMiddleValue() {
+        assertEquals(300, PerformanceBaseline.median(Arrays.asList(900.0, 100.0, 300.0)), DELTA);
+        assertEquals(42, PerformanceBaseline.median(Collections.singletonList(42.0)), DELTA);
+    }
+
+    @Test
+    public void medianOfEvenCountAveragesTheMiddlePair() {
+        assertEquals(250, PerformanceBaseline.median(Arrays.asList(400.0, 100.0, 200.0, 300.0)), DELTA);
+    }
+
+    @Test
+    public void madIgnoresASingleOutlier() {
+        // Deviations from 100: 0, 2, 2, 4, 900 -> median 2
+        assertEquals(2, PerformanceBaseline.mad(Arrays.asList(100.0, 98.0, 102.0, 104.0, 1000.0), 100), DELTA);
+    }
+
+    @Test
+    public void madOfIdenticalRunsIsZero() {
+        assertEquals(0, PerformanceBaseline.mad(Arrays.asList(500.0, 500.0, 500.0), 500), DELTA);
+    }
+
+    @Test
+    public void limitUsesTheTolerancePercentForSlowSteps() {
+        // median 10000, 25% = 2500 > minDelta 500, MAD term 3 * 1.4826 * 100 = 444.78
+        double limit = PerformanceBaseline.limit(Arrays.asList(9900.0, 10000.0, 10100.0), 25, 500, 3);
+        assertEquals(12500, limit, DELTA);
+    }
+
+    @Test
+    public void limitUsesTheMinimumDeltaForFastSteps() {
+        // median 100, 25% = 25 < minDelta 500
+        double limit = PerformanceBaseline.limit(Arrays.asList(100.0, 100.0, 100.0), 25, 500, 3);
+        assertEquals(600, limit, DELTA);
+    }
+
+    @Test
+    public void limitWidensForNoisySteps() {
+        // median 2000, MAD 1000 -> 3 * 1.4826 * 1000 = 4447.8 beats 25% (500) and minDelta (500)
+        double limit = PerformanceBaseline.limit(Arrays.asList(1000.0, 2000.0, 3000.0, 5000.0, 500.0), 25, 500, 3);
+        assertEquals(2000 + 3 * 1.4826 * 1000, limit, DELTA);
+    }
+
+    @Test
+    public void oneSlowReferenceRunDoesNotMoveTheLimit() {
+        double steady = PerformanceBaseline.limit(Arrays.asList(1000.0, 1000.0, 1000.0, 1000.0, 1000.0), 25, 100, 3);
+        double withOutlier = PerformanceBaseline.limit(Arrays.asList(1000.0, 1000.0, 1000.0, 1000.0, 60000.0), 25, 100, 3);
+        assertEquals(steady, withOutlier, DELTA);
+    }
+}
@@ -0,0 +1,44 @@
+package com.trendyol.metrics;
+
+/**
+ * Per-thread counters for the step that is running right now. Cucumber runs a step and sends
+ * its started/finished events on the scenario's own thread, so everything the step does
+ * (driver commands, {@code pause} calls) lands in that thread's counters.
+ */
+public final class StepMetrics {
+
+    private static final ThreadLocal<StepMetrics> CURRENT = ThreadLocal.withInitial(StepMetrics::new);
+
+    long commands;
+    long commandNanos;
+    long sleepNanos;
+
+    private StepMetrics() {
+    }
+
+    /**
+     * Counts one WebDriver command that took {@code nanos}.
+     */
+    public static void recordCommand(long nanos) {
+        StepMetrics current = CURRENT.get();
+        current.commands++;
+        current.commandNanos += nanos;
+    }
+
+    /**
+     * Counts time spent in a fixed sleep.
+     */
+    public static void recordSleep(long millis) {
+        CURRENT.get().sleepNanos += millis * 1_000_000L;
+    }
+
+    static StepMetrics current() {
+        return CURRENT.get();
+    }
+
+    void reset() {
+        commands = 0;
+        commandNanos = 0;
+        sleepNanos = 0;
+    }
+}
@@ -0,0 +1,232 @@
+package com.trendyol.metrics;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.openqa.selenium.json.Json;
+import utils.Logger;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin that times every step definition, hook and scenario of the run, together
+ * with the number of WebDriver commands and the fixed sleeps each one made (see
+ * {@link StepMetrics}).
+ *
+ * <p>Steps are grouped by their step definition pattern, so "I search for {string}" is one
+ * entry however many keywords it is called with. At the end of the run the results go to
+ * {@code target/metrics/step-timings.json} and {@code .csv} ({@code metrics.dir}) and the
+ * {@code metrics.topN} (default 10) slowest entries by total time are logged.
+ *
+ * <p>The WebDriver commands are also reported per page-object method (see
+ * {@link CommandMetricsListener}) in {@code page-methods.json} and {@code .csv}, chattiest first.
+ * Finally the run is recorded into or checked against the {@link PerformanceBaseline}, unless
+ * it was a dry run.
+ */
+public class TimingPlugin implements ConcurrentEventListener {
+
+    private static final Logger LOG = Logger.get(TimingPlugin.class);
+
+    private static final String[] CSV_COLUMNS = {
+        "kind", "name", "count", "failures", "totalMs", "meanMs", "p50Ms", "p95Ms", "p99Ms", "maxMs",
+        "driverCommands", "driverCommandsPerRun", "driverCommandMs", "sleepMs"
+    };
+    private static final String[] PAGE_METHOD_CSV_COLUMNS = {
+        "method", "commands", "totalMs", "p50Ms", "p95Ms", "maxMs", "byCommand"
+    };
+
+    private final Map<String, TimingStats> stats = new ConcurrentHashMap<>();
+
+    // Stays false in a dry run, where every step is reported as skipped without running
+    private volatile boolean stepsExecuted;
+
+    // Commands and sleeps of the scenario running on this thread, summed over its steps
+    private final ThreadLocal<long[]> scenarioTotals = ThreadLocal.withInitial(() -> new long[3]);
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> Arrays.fill(scenarioTotals.get(), 0));
+        publisher.registerHandlerFor(TestStepStarted.class, event -> StepMetrics.current().reset());
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeResults());
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        StepMetrics step = StepMetrics.current();
+        long[] totals = scenarioTotals.get();
+        totals[0] += step.commands;
+        totals[1] += step.commandNanos;
+        totals[2] += step.sleepNanos;
+
+        TestStep testStep = event.getTestStep();
+        Status status = event.getResult().getStatus();
+        if (testStep instanceof PickleStepTestStep && (status == Status.PASSED || status == Status.FAILED)) {
+            stepsExecuted = true;
+        }
+        TimingStats.Kind kind = testStep instanceof HookTestStep ? TimingStats.Kind.HOOK : TimingStats.Kind.STEP;
+        statsFor(kind, nameOf(testStep)).record(event.getResult().getDuration().toNanos(),
+            step.commands, step.commandNanos, step.sleepNanos, event.getResult().getStatus() == Status.FAILED);
+        step.reset();
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        long[] totals = scenarioTotals.get();
+        statsFor(TimingStats.Kind.SCENARIO, event.getTestCase().getName()).record(
+            event.getResult().getDuration().toNanos(), totals[0], totals[1], totals[2],
+            event.getResult().getStatus() == Status.FAILED);
+    }
+
+    private TimingStats statsFor(TimingStats.Kind kind, String name) {
+        return stats.computeIfAbsent(kind + " " + name, key -> new TimingStats(kind, name));
+    }
+
+    private static String nameOf(TestStep testStep) {
+        if (testStep instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) testStep;
+            // Undefined steps have no pattern
+            return step.getPattern() != null ? step.getPattern() : step.getStep().getText();
+        }
+        if (testStep instanceof HookTestStep) {
+            // "com.trendyol.hooks.ExtentReportHooks.setUp(io.cucumber.java.Scenario)" -> "@Before ExtentReportHooks.setUp"
+            String location = testStep.getCodeLocation();
+            int args = location.indexOf('(');
+            String method = args >= 0 ? location.substring(0, args) : location;
+            int classStart = method.lastIndexOf('.', method.lastIndexOf('.') - 1);
+            String hookType = ((HookTestStep) testStep).getHookType().name();
+            return "@" + toCamelCase(hookType) + " " + method.substring(classStart + 1);
+        }
+        return testStep.getCodeLocation();
+    }
+
+    // BEFORE_STEP -> BeforeStep
+    private static String toCamelCase(String constant) {
+        StringBuilder sb = new StringBuilder(constant.length());
+        for (String part : constant.split("_")) {
+            sb.append(part.charAt(0)).append(part.substring(1).toLowerCase(Locale.ROOT));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Entries sorted by total time, slowest first.
+     */
+    List<TimingStats> getResults() {
+        List<TimingStats> results = new ArrayList<>(stats.values());
+        results.sort(Comparator.comparingLong(TimingStats::getTotalNanos).reversed());
+        return results;
+    }
+
+    private void writeResults() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (TimingStats result : getResults()) {
+            rows.add(result.toMap());
+        }
+        List<Map<String, Object>> pageMethods = new ArrayList<>();
+        for (PageMethodStats result : PageMethodStats.getResults()) {
+            pageMethods.add(result.toMap());
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Path directory = Paths.get(TestConfig.getString("metrics.dir", "target/metrics"));
+        try {
+            Files.createDirectories(directory);
+            writeJson(directory.resolve("step-timings.json"), rows);
+            writeCsv(directory.resolve("step-timings.csv"), CSV_COLUMNS, rows);
+            if (!pageMethods.isEmpty()) {
+                writeJson(directory.resolve("page-methods.json"), pageMethods);
+                writeCsv(directory.resolve("page-methods.csv"), PAGE_METHOD_CSV_COLUMNS, pageMethods);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not write step timings to " + directory, e);
+        }
+
+        int topN = TestConfig.getInt("metrics.topN", 10);
+        logTopEntries(rows, topN);
+        if (!pageMethods.isEmpty()) {
+            logTopPageMethods(pageMethods, topN);
+        }
+
+        if (stepsExecuted && !TestConfig.getBoolean("cucumber.execution.dry-run", false)) {
+            new PerformanceBaseline().apply(getResults());
+        } else {
+            LOG.info("No step was executed (dry run), skipping the performance baseline");
+        }
+    }
+
+    private static void writeJson(Path file, List<Map<String, Object>> rows) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("generatedAt", Instant.now().toString());
+        json.put("entries", rows);
+        Files.write(file, new Json().toJson(json).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeCsv(Path file, String[] columns, List<Map<String, Object>> rows) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+            for (Map<String, Object> row : rows) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    String value = String.valueOf(row.get(columns[i]));
+                    if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0) {
+                        value = '"' + value.replace("\"", "\"\"") + '"';
+                    }
+                    writer.write(value);
+                }
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static void logTopEntries(List<Map<String, Object>> rows, int topN) {
+        StringBuilder table = new StringBuilder("Slowest steps, hooks and scenarios by total time:\n");
+        table.append(String.format(Locale.ROOT, "%-9s %10s %6s %9s %9s %9s %8s %9s  %s%n",
+            "kind", "total ms", "runs", "p50 ms", "p95 ms", "max ms", "cmds/run", "sleep ms", "name"));
+        for (int i = 0; i < Math.min(topN, rows.size()); i++) {
+            Map<String, Object> row = rows.get(i);
+            table.append(String.format(Locale.ROOT, "%-9s %10.1f %6d %9.1f %9.1f %9.1f %8.1f %9.1f  %s%n",
+                row.get("kind"), row.get("totalMs"), row.get("count"), row.get("p50Ms"), row.get("p95Ms"),
+                row.get("maxMs"), row.get("driverCommandsPerRun"), row.get("sleepMs"), row.get("name")));
+        }
+        LOG.info(table.toString().trim());
+    }
+
+    private static void logTopPageMethods(List<Map<String, Object>> rows, int topN) {
+        StringBuilder table = new StringBuilder("Chattiest page-object methods by WebDriver commands:\n");
+        table.append(String.format(Locale.ROOT, "%8s %10s %9s %9s  %s%n", "commands", "total ms", "p50 ms", "p95 ms", "method"));
+        for (int i = 0; i < Math.min(topN, rows.size()); i++) {
+            Map<String, Object> row = rows.get(i);
+            table.append(String.format(Locale.ROOT, "%8d %10.1f %9.1f %9.1f  %s%n",
+                row.get("commands"), row.get("totalMs"), row.get("p50Ms"), row.get("p95Ms"), row.get("method")));
+        }
+        LOG.info(table.toString().trim());
+    }
+}
@@ -0,0 +1,92 @@
+package com.trendyol.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aggregated timings of one step definition, hook or scenario over the whole run. Updated from
+ * every scenario thread, so all access is synchronized.
+ */
+final class TimingStats {
+
+    enum Kind {
+        STEP, HOOK, SCENARIO
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private long totalNanos;
+    private long commands;
+    private long commandNanos;
+    private long sleepNanos;
+    private long failures;
+
+    TimingStats(Kind kind, String name) {
+        this.kind = kind;
+        this.name = name;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    synchronized void record(long nanos, long commands, long commandNanos, long sleepNanos, boolean failed) {
+        durations.record(nanos / 1_000);
+        this.totalNanos += nanos;
+        this.commands += commands;
+        this.commandNanos += commandNanos;
+        this.sleepNanos += sleepNanos;
+        if (failed) {
+            failures++;
+        }
+    }
+
+    synchronized long getCount() {
+        return durations.getCount();
+    }
+
+    synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Duration at {@code percentile} (0-100) in milliseconds.
+     */
+    synchronized double getPercentileMillis(double percentile) {
+        return durations.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    synchronized Map<String, Object> toMap() {
+        long count = durations.getCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("kind", kind.name().toLowerCase(Locale.ROOT));
+        map.put("name", name);
+        map.put("count", count);
+        map.put("failures", failures);
+        map.put("totalMs", millis(totalNanos));
+        map.put("meanMs", round(durations.getMean() / 1_000.0));
+        map.put("p50Ms", round(durations.getValueAtPercentile(50) / 1_000.0));
+        map.put("p95Ms", round(durations.getValueAtPercentile(95) / 1_000.0));
+        map.put("p99Ms", round(durations.getValueAtPercentile(99) / 1_000.0));
+        map.put("maxMs", round(durations.getMax() / 1_000.0));
+        map.put("driverCommands", commands);
+        map.put("driverCommandsPerRun", count == 0 ? 0.0 : round((double) commands / count));
+        map.put("driverCommandMs", millis(commandNanos));
+        map.put("sleepMs", millis(sleepNanos));
+        return map;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
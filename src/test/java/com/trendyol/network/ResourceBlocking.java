@@ -0,0 +1,271 @@
+package com.trendyol.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import utils.BrowserDevTools;
+import utils.Logger;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the browser from downloading what no assertion looks at (images, fonts, video,
+ * analytics and ad scripts) through DevTools {@code Network.setBlockedURLs}.
+ *
+ * <p>Profiles and the tag that selects each one are defined in
+ * {@code src/test/resources/resource-blocking.properties}. Scenarios without a mapped tag use
+ * the file's {@code default}, or {@code -Dnetwork.blocking=<profile>} when set;
+ * {@code -Dnetwork.blocking.byTag=false} ignores the tag mappings.
+ *
+ * <p>Per scenario it counts the blocked requests and estimates the bytes they would have cost
+ * from the sizes the same URLs (or, failing that, resources of the same type) had when they
+ * were downloaded earlier in the run.
+ */
+public final class ResourceBlocking {
+
+    private static final Logger LOG = Logger.get(ResourceBlocking.class);
+
+    private static final String RESOURCE = "resource-blocking.properties";
+    private static final String FULL = "full";
+
+    private static final Properties CONFIG = loadConfig();
+    private static final String DEFAULT_PROFILE =
+        TestConfig.getString("network.blocking", CONFIG.getProperty("default", FULL).trim());
+    private static final boolean BY_TAG = TestConfig.getBoolean("network.blocking.byTag", true);
+
+    private static final Map<WebDriver, Session> SESSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Sizes downloaded so far in the run, shared by all browsers: url -> bytes, type -> totals
+    private static final Map<String, Long> BYTES_BY_URL = new ConcurrentHashMap<>();
+    private static final Map<String, long[]> BYTES_BY_TYPE = new ConcurrentHashMap<>();
+
+    private ResourceBlocking() {
+    }
+
+    /**
+     * Starts watching {@code driver}'s requests. Called once per browser; nothing is blocked
+     * until a scenario picks a profile with {@link #startScenario(WebDriver, Collection)}.
+     */
+    public static void install(WebDriver driver) {
+        BrowserDevTools devTools = BrowserDevTools.of(driver);
+        if (!devTools.isAvailable()) {
+            return;
+        }
+        Session session = new Session(devTools);
+        SESSIONS.put(driver, session);
+        devTools.install("resource-blocking", tools -> {
+            tools.send(new Command<>("Network.enable", Collections.emptyMap()));
+            // A new tab starts without blocked URLs, so re-apply the current profile on every attach
+            tools.send(new Command<>("Network.setBlockedURLs",
+                Collections.<String, Object>singletonMap("urls", session.patterns)));
+            tools.addListener(BrowserDevTools.event("Network.requestWillBeSent"), session::requestWillBeSent);
+            tools.addListener(BrowserDevTools.event("Network.loadingFinished"), session::loadingFinished);
+            tools.addListener(BrowserDevTools.event("Network.loadingFailed"), session::loadingFailed);
+        });
+    }
+
+    /**
+     * Applies the profile for a scenario with {@code tags} and resets the scenario's counters.
+     * Returns the profile name, or {@code null} when blocking is not available or could not be
+     * applied (the scenario then runs unblocked).
+     */
+    public static String startScenario(WebDriver driver, Collection<String> tags) {
+        Session session = SESSIONS.get(driver);
+        if (session == null) {
+            return null;
+        }
+        String profile = profileFor(tags);
+        return session.start(profile, patterns(profile)) ? profile : null;
+    }
+
+    /**
+     * One-line summary of what the scenario blocked, or {@code null} when it blocked nothing.
+     */
+    public static String finishScenario(WebDriver driver) {
+        Session session = SESSIONS.get(driver);
+        return session == null ? null : session.summary();
+    }
+
+    static String profileFor(Collection<String> tags) {
+        if (BY_TAG) {
+            for (String tag : tags) {
+                String profile = CONFIG.getProperty("tag." + tag);
+                if (profile != null) {
+                    return profile.trim();
+                }
+            }
+        }
+        return DEFAULT_PROFILE;
+    }
+
+    static List<String> patterns(String profile) {
+        Set<String> patterns = new LinkedHashSet<>();
+        collect(profile, patterns, new HashSet<>());
+        return new ArrayList<>(patterns);
+    }
+
+    private static void collect(String profile, Set<String> patterns, Set<String> visited) {
+        if (!visited.add(profile)) {
+            return;
+        }
+        String value = CONFIG.getProperty("profile." + profile);
+        if (value == null) {
+            LOG.warn("Unknown resource blocking profile '" + profile + "', blocking nothing");
+            return;
+        }
+        for (String pattern : value.split(",")) {
+            pattern = pattern.trim();
+            if (pattern.startsWith("@")) {
+                collect(pattern.substring(1), patterns, visited);
+            } else if (!pattern.isEmpty()) {
+                patterns.add(pattern);
+            }
+        }
+    }
+
+    private static Properties loadConfig() {
+        Properties properties = new Properties();
+        try (InputStream in = ResourceBlocking.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                LOG.warn(RESOURCE + " not found on the classpath, resource blocking is off");
+                return properties;
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read " + RESOURCE + ": " + e.getMessage());
+        }
+        return properties;
+    }
+
+    private static long estimateBytes(String url, String type) {
+        Long bytes = BYTES_BY_URL.get(url);
+        if (bytes != null) {
+            return bytes;
+        }
+        long[] totals = BYTES_BY_TYPE.get(type);
+        return totals == null ? -1 : totals[0] / Math.max(1, totals[1]);
+    }
+
+    /**
+     * Blocking state and counters of one browser.
+     */
+    private static final class Session {
+        private final BrowserDevTools devTools;
+        private volatile String profile = FULL;
+        private volatile List<String> patterns = Collections.emptyList();
+        // False after a failed setBlockedURLs, when the browser's patterns are unknown
+        private volatile boolean patternsApplied = true;
+
+        // requestId -> {url, type} of requests still loading
+        private final Map<String, String[]> inFlight = new ConcurrentHashMap<>();
+        private long blocked;
+        private long blockedBytes;
+        private long blockedUnknownSize;
+        private long downloaded;
+        private long downloadedBytes;
+
+        Session(BrowserDevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        boolean start(String profile, List<String> patterns) {
+            synchronized (this) {
+                blocked = 0;
+                blockedBytes = 0;
+                blockedUnknownSize = 0;
+                downloaded = 0;
+                downloadedBytes = 0;
+            }
+            inFlight.clear();
+            boolean changed = !patternsApplied || !patterns.equals(this.patterns);
+            this.profile = profile;
+            this.patterns = patterns;
+            if (changed) {
+                try {
+                    devTools.send("Network.setBlockedURLs", Collections.<String, Object>singletonMap("urls", patterns));
+                    patternsApplied = true;
+                } catch (RuntimeException e) {
+                    LOG.warn("Could not apply resource blocking profile '" + profile + "', running unblocked: " + e.getMessage());
+                    this.profile = FULL;
+                    this.patterns = Collections.emptyList();
+                    patternsApplied = false;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void requestWillBeSent(Map<String, Object> params) {
+            Map<?, ?> request = (Map<?, ?>) params.get("request");
+            if (request != null) {
+                inFlight.put(String.valueOf(params.get("requestId")),
+                    new String[]{String.valueOf(request.get("url")), String.valueOf(params.get("type"))});
+            }
+        }
+
+        void loadingFinished(Map<String, Object> params) {
+            String[] request = inFlight.remove(String.valueOf(params.get("requestId")));
+            Object length = params.get("encodedDataLength");
+            if (request == null || !(length instanceof Number)) {
+                return;
+            }
+            long bytes = ((Number) length).longValue();
+            BYTES_BY_URL.put(request[0], bytes);
+            long[] totals = BYTES_BY_TYPE.computeIfAbsent(request[1], type -> new long[2]);
+            synchronized (totals) {
+                totals[0] += bytes;
+                totals[1]++;
+            }
+            synchronized (this) {
+                downloaded++;
+                downloadedBytes += bytes;
+            }
+        }
+
+        void loadingFailed(Map<String, Object> params) {
+            String[] request = inFlight.remove(String.valueOf(params.get("requestId")));
+            // setBlockedURLs reports its blocks with the reason "inspector"
+            if (request == null || !"inspector".equals(params.get("blockedReason"))) {
+                return;
+            }
+            long estimate = estimateBytes(request[0], request[1]);
+            synchronized (this) {
+                blocked++;
+                if (estimate < 0) {
+                    blockedUnknownSize++;
+                } else {
+                    blockedBytes += estimate;
+                }
+            }
+        }
+
+        synchronized String summary() {
+            if (FULL.equals(profile) && blocked == 0) {
+                return null;
+            }
+            return String.format(Locale.ROOT,
+                "Resource blocking '%s': %d requests blocked, ~%d KB saved%s; %d requests downloaded (%d KB)",
+                profile, blocked, blockedBytes / 1024,
+                blockedUnknownSize > 0 ? " (" + blockedUnknownSize + " of unknown size)" : "",
+                downloaded, downloadedBytes / 1024);
+        }
+    }
+}
@@ -1,34 +1,332 @@
 package com.trendyol.pages;
 
+import com.trendyol.metrics.StepMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.Logger;
+import utils.TestConfig;
 
 import java.time.Duration;
+import java.util.List;
 
 public class BasePage {
+    private static final Logger LOG = Logger.get(BasePage.class);
+
+    protected static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration POPUP_DISMISS_TIMEOUT = Duration.ofSeconds(3);
+
+    // Cookie accept button - language independent
+    private static final FallbackLocator COOKIE_BUTTON = FallbackLocator.of("HomePage", "acceptCookiesButton",
+        "button#onetrust-accept-btn-handler",
+        "button[data-testid='cookie-accept-button']",
+        "xpath://button[contains(text(), 'Accept') or contains(text(), 'Kabul') or contains(text(), 'Tümünü')]");
+
+    // Language selection button (SVG path) and alternatives
+    private static final FallbackLocator LANGUAGE_BUTTON = FallbackLocator.of("HomePage", "languageButton",
+        "path#Combined-Shape",
+        "button[aria-label*='language'], button[aria-label*='dil']",
+        "svg[class*='language'], svg[class*='dil']");
+
+    // Adaptive polling: check quickly at first, then back off for slow conditions
+    private static final long INITIAL_POLL_MILLIS = 50;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final double POLL_BACKOFF = 1.5;
+
+    // "Settled" = no tracked requests and no DOM mutations for this long
+    private static final Duration SETTLE_QUIET_WINDOW = Duration.ofMillis(TestConfig.getLong("page.settle.quietMillis", 500));
+    private static final int SETTLE_MAX_IN_FLIGHT = TestConfig.getInt("page.settle.maxInFlight", 0);
+    // Pages with endless background traffic never settle; don't let them eat the whole deadline
+    private static final Duration SETTLE_MAX_WAIT = Duration.ofMillis(TestConfig.getLong("page.settle.maxWaitMillis", 5000));
+
+    // Installs a MutationObserver once per document and reports how long the DOM has been quiet
+    // (-1 while the document is still loading), so one round trip answers both questions
+    private static final String DOM_QUIET_MILLIS_SCRIPT =
+        "if (document.readyState !== 'complete') { return -1; }"
+        + "var w = window.__trendyolDomWatch;"
+        + "if (!w) {"
+        + "  w = window.__trendyolDomWatch = { last: performance.now() };"
+        + "  new MutationObserver(function () { w.last = performance.now(); })"
+        + "    .observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});"
+        + "}"
+        + "return performance.now() - w.last;";
+
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    private final NetworkIdleTracker networkIdleTracker;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        // Start counting requests now so the next navigation is tracked from its first request
+        this.networkIdleTracker = NetworkIdleTracker.forDriver(driver);
+        PagePerformance.install(driver);
         PageFactory.initElements(driver, this);
     }
 
+    // ---- Wait engine ----
+
+    /**
+     * Polls {@code condition} until it is satisfied or the deadline passes. Lookups that fail
+     * because the element is missing or stale count as "not yet".
+     *
+     * @return the value the condition produced
+     * @throws TimeoutException if the deadline passes first
+     */
+    protected <T> T waitFor(Condition<T> condition, Deadline deadline) {
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastError = null;
+        while (true) {
+            try {
+                T result = condition.apply(driver);
+                if (Condition.isSatisfied(result)) {
+                    return result;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingMillis = deadline.remaining().toMillis();
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Timed out waiting for " + condition.describe(), lastError);
+            }
+            pause(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(MAX_POLL_MILLIS, (long) (pollMillis * POLL_BACKOFF));
+        }
+    }
+
+    protected <T> T waitFor(Condition<T> condition, Duration timeout) {
+        return waitFor(condition, Deadline.after(timeout));
+    }
+
+    protected <T> T waitFor(Condition<T> condition) {
+        return waitFor(condition, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Like {@link #waitFor(Condition, Deadline)} but returns false instead of throwing,
+     * for optional UI (banners, overlays) that may never show up.
+     */
+    protected boolean waitUntil(Condition<?> condition, Deadline deadline) {
+        try {
+            waitFor(condition, deadline);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    protected boolean waitUntil(Condition<?> condition, Duration timeout) {
+        return waitUntil(condition, Deadline.after(timeout));
+    }
+
+    private static void pause(long millis) {
+        StepMetrics.recordSleep(millis);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+
+    // ---- Page readiness ----
+
+    /**
+     * Waits until the document is loaded, no document/script/XHR/fetch request has been in
+     * flight and the DOM has not changed for the configured quiet window
+     * ({@code page.settle.quietMillis}, default 500 ms). Gives up after
+     * {@code page.settle.maxWaitMillis} (default 5000 ms) or at the deadline, whichever is first.
+     *
+     * @return false if the page did not settle in time
+     */
+    protected boolean awaitPageSettled(Deadline deadline) {
+        return awaitPageSettled(SETTLE_QUIET_WINDOW, deadline);
+    }
+
+    protected boolean awaitPageSettled(Duration quietWindow, Deadline deadline) {
+        networkIdleTracker.followCurrentWindow();
+        return waitUntil(networkIdle(quietWindow).and(domStable(quietWindow)), deadline.limit(SETTLE_MAX_WAIT));
+    }
+
+    /**
+     * Records the browser-side metrics of the page just navigated to (see {@link PagePerformance})
+     * once its document is loaded. Does nothing with {@code page.metrics=false}.
+     */
+    protected PageMetrics recordPageMetrics(String navigation) {
+        if (!PagePerformance.ENABLED) {
+            return null;
+        }
+        // Tab switches: measure the new tab and register the observers for its next documents
+        networkIdleTracker.followCurrentWindow();
+        waitUntil(documentReady(), DEFAULT_TIMEOUT);
+        return PagePerformance.record(driver, navigation);
+    }
+
+    /**
+     * Network idle for {@code quietWindow}. Always satisfied when DevTools is not available,
+     * so callers fall back to the DOM and element checks.
+     */
+    protected Condition<Boolean> networkIdle(Duration quietWindow) {
+        return Condition.of("network idle for " + quietWindow.toMillis() + " ms", driver ->
+            !networkIdleTracker.isAvailable() || networkIdleTracker.isIdleFor(quietWindow, SETTLE_MAX_IN_FLIGHT));
+    }
+
+    protected static Condition<Boolean> domStable(Duration quietWindow) {
+        return Condition.of("document loaded and DOM stable for " + quietWindow.toMillis() + " ms", driver -> {
+            Object quietMillis = ((JavascriptExecutor) driver).executeScript(DOM_QUIET_MILLIS_SCRIPT);
+            return quietMillis instanceof Number && ((Number) quietMillis).doubleValue() >= quietWindow.toMillis();
+        });
+    }
+
+    // ---- Conditions ----
+
+    protected static Condition<WebElement> visible(WebElement element) {
+        return Condition.of("visibility of " + element, driver -> element.isDisplayed() ? element : null);
+    }
+
+    protected static Condition<WebElement> clickable(WebElement element) {
+        return Condition.of("clickability of " + element,
+            driver -> element.isDisplayed() && element.isEnabled() ? element : null);
+    }
+
+    protected static Condition<Boolean> invisible(WebElement element) {
+        return Condition.of("invisibility of " + element, driver -> {
+            try {
+                return !element.isDisplayed();
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                return true;
+            }
+        });
+    }
+
+    protected static Condition<Boolean> invisible(By locator) {
+        return Condition.of("invisibility of " + locator, driver -> {
+            for (WebElement element : driver.findElements(locator)) {
+                try {
+                    if (element.isDisplayed()) {
+                        return false;
+                    }
+                } catch (StaleElementReferenceException e) {
+                    // Gone already
+                }
+            }
+            return true;
+        });
+    }
+
+    protected static Condition<WebElement> visible(By locator) {
+        return Condition.of("visibility of " + locator, driver -> {
+            for (WebElement element : driver.findElements(locator)) {
+                if (element.isDisplayed()) {
+                    return element;
+                }
+            }
+            return null;
+        });
+    }
+
+    protected static Condition<List<WebElement>> present(List<WebElement> elements) {
+        return Condition.of("presence of elements", driver -> elements.isEmpty() ? null : elements);
+    }
+
+    protected static Condition<String> textContains(WebElement element, String text) {
+        return Condition.of("text '" + text + "' in " + element, driver -> {
+            String actual = element.getText();
+            return actual != null && actual.contains(text) ? actual : null;
+        });
+    }
+
+    protected static Condition<String> nonEmptyText(WebElement element) {
+        return Condition.of("non-empty text in " + element, driver -> {
+            String actual = element.isDisplayed() ? element.getText().trim() : "";
+            return actual.isEmpty() ? null : actual;
+        });
+    }
+
+    protected static Condition<Boolean> urlContains(String fragment) {
+        return Condition.of("URL containing '" + fragment + "'", driver -> driver.getCurrentUrl().contains(fragment));
+    }
+
+    protected static Condition<Boolean> documentReady() {
+        return Condition.of("document ready", driver ->
+            "complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState")));
+    }
+
+    protected static Condition<String> newWindowBesides(java.util.Set<String> knownHandles) {
+        return Condition.of("a new window", driver -> {
+            for (String handle : driver.getWindowHandles()) {
+                if (!knownHandles.contains(handle)) {
+                    return handle;
+                }
+            }
+            return null;
+        });
+    }
+
+    protected static Condition<Boolean> focused(WebElement element) {
+        return Condition.of("focus on " + element, driver ->
+            (Boolean) ((JavascriptExecutor) driver).executeScript("return arguments[0] === document.activeElement;", element));
+    }
+
+    // ---- Element helpers ----
+
     protected void waitForElementToBeVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        waitFor(visible(element));
     }
 
     protected void waitForElementToBeClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        waitFor(clickable(element));
     }
 
+    /**
+     * Clicks {@code element} once it is clickable. If a consent or language popup is in the way
+     * (one can come back even after SessionBootstrap), dismisses it and clicks again.
+     */
     protected void clickElement(WebElement element) {
         waitForElementToBeClickable(element);
-        element.click();
+        try {
+            element.click();
+        } catch (ElementClickInterceptedException e) {
+            LOG.info("Click intercepted, dismissing popups and retrying: " + e.getMessage().split("\n")[0]);
+            dismissPopups();
+            element.click();
+        }
+    }
+
+    // ---- Consent and language popups ----
+
+    public void acceptCookiesIfPresent() {
+        dismissIfPresent(COOKIE_BUTTON);
+    }
+
+    public void clickLanguageButtonIfPresent() {
+        dismissIfPresent(LANGUAGE_BUTTON);
+    }
+
+    protected void dismissPopups() {
+        acceptCookiesIfPresent();
+        clickLanguageButtonIfPresent();
+    }
+
+    // Plain click, not clickElement: a popup button that is itself covered must not recurse
+    private void dismissIfPresent(FallbackLocator locator) {
+        try {
+            WebElement button = locator.findElement(driver);
+            if (button != null) {
+                waitForElementToBeClickable(button);
+                button.click();
+                // Wait for the popup to close
+                waitUntil(invisible(button), POPUP_DISMISS_TIMEOUT);
+            }
+        } catch (Exception e) {
+            // Popup not present, continue
+        }
     }
 
     protected void sendKeys(WebElement element, String text) {
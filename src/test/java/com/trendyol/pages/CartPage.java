@@ -3,24 +3,92 @@ package com.trendyol.pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.By;
-import com.aventstack.extentreports.ExtentTest;
+import org.openqa.selenium.JavascriptExecutor;
 import com.aventstack.extentreports.Status;
-
+import com.trendyol.hooks.ScenarioReport;
+import utils.Money;
+import utils.SiteUrls;
+import utils.TurkishText;
+import utils.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 public class CartPage extends BasePage {
 
-    private ExtentTest extentTest;
+    private static final Logger LOG = Logger.get(CartPage.class);
+
+    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(15);
+
+    // Reads line items and summary rows in one call. Line items are div.pb-basket-item, or the
+    // nearest ancestor of a p.pb-item that also holds the price if that class changes.
+    private static final String CART_SNAPSHOT_SCRIPT =
+        "function visible(el) {"
+        + "  if (!el) { return false; }"
+        + "  var rect = el.getBoundingClientRect();"
+        + "  if (rect.width === 0 && rect.height === 0) { return false; }"
+        + "  var style = window.getComputedStyle(el);"
+        + "  return style.visibility !== 'hidden' && style.display !== 'none';"
+        + "}"
+        + "function text(el) { return el ? (el.innerText || el.textContent || '').trim() : ''; }"
+        + "function priceOf(el) { return el ? (el.getAttribute('title') || text(el)) : ''; }"
+        + "var lines = Array.prototype.slice.call(document.querySelectorAll('div.pb-basket-item'));"
+        + "if (lines.length === 0) {"
+        + "  document.querySelectorAll('p.pb-item').forEach(function (name) {"
+        + "    var line = name.parentElement;"
+        + "    for (var depth = 0; line && depth < 8 && !line.querySelector('div.pb-basket-item-price'); depth++) {"
+        + "      line = line.parentElement;"
+        + "    }"
+        + "    if (line && lines.indexOf(line) < 0) { lines.push(line); }"
+        + "  });"
+        + "}"
+        + "var items = lines.map(function (line) {"
+        + "  var counter = line.querySelector('input.counter-content');"
+        + "  return {name: text(line.querySelector('p.pb-item')),"
+        + "          quantity: counter ? parseInt(counter.value, 10) || 1 : 1,"
+        + "          price: text(line.querySelector('div.pb-basket-item-price'))};"
+        + "});"
+        + "function summaryRow(label) {"
+        + "  var rows = document.querySelectorAll('li');"
+        + "  for (var i = 0; i < rows.length; i++) {"
+        + "    var span = rows[i].querySelector('span');"
+        + "    if (span && text(span).indexOf(label) >= 0) { return priceOf(rows[i].querySelector('strong')); }"
+        + "  }"
+        + "  return '';"
+        + "}"
+        + "var discount = document.querySelector('li.pb-summary-promotion strong.discount');"
+        + "var savings = document.querySelector('div.total-saving');"
+        + "var total = document.querySelector('div.pb-summary-total-price');"
+        + "return {items: items,"
+        + "        productsTotal: summaryRow('Ürünün Toplamı'),"
+        + "        shippingTotal: summaryRow('Kargo Toplam'),"
+        + "        shippingDiscount: visible(discount) ? priceOf(discount) : '',"
+        + "        totalSavings: visible(savings) ? text(savings.querySelector('div.total-saving-price span')) : '',"
+        + "        finalTotal: visible(total) ? priceOf(total) : ''};";
+
+    private ScenarioReport report;
+
+    // Product name clean-up (see normalizeProductName)
+    private static final Pattern SOLD_COUNT = Pattern.compile("\\d+\\+?\\s*tanesi\\s*satıldı");
+    private static final Pattern SHIPPING_COUNTDOWN = Pattern.compile("\\d+\\s*saat\\s*\\d+\\s*dakika\\s*içinde");
+    private static final Pattern INLINE_PRICE = Pattern.compile("\\d+,\\d+\\s*TL");
+    private static final Pattern CAPITALIZED_WORDS = Pattern.compile("([A-Z][a-z]+)([A-Z][a-z]+)");
+    private static final Pattern TRKTECH_GLUED = Pattern.compile("TrkTech([A-Z][a-z]+)");
+    private static final Pattern TRK_TECH_GLUED = Pattern.compile("Trk\\s+Tech([A-Z][a-z]+)");
+    private static final Pattern CAMEL_CASE = Pattern.compile("([a-z])([A-Z])");
+    private static final Pattern CONSECUTIVE_CAPITALS = Pattern.compile("([A-Z])([A-Z][a-z])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Last cart read; dropped when the cart changes
+    private CartSnapshot cartSnapshot;
 
     // Cart page elements based on actual Trendyol HTML
     @FindBy(css = "div.pb-header")
     private WebElement cartHeader;
 
-    // Updated selector based on actual Trendyol HTML structure - SEPET SAYFASINDA
-    @FindBy(css = "p.pb-item")
-    private List<WebElement> cartItemNames;
-
     @FindBy(css = "input.counter-content")
     private List<WebElement> cartItemCounters;
 
@@ -28,44 +96,15 @@ public class CartPage extends BasePage {
     private List<WebElement> cartItemPrices;
 
     // Total price - multiple selectors for robustness
-    @FindBy(css = "div.total-price, .pb-total, div[class*='total'], div[class*='pb-total'], span[class*='total'], .cart-total")
-    private WebElement totalPrice;
-
-    // Updated price elements based on actual Trendyol HTML
-    @FindBy(css = "div.pb-summary-total-price")
-    private WebElement finalTotalPriceElement;
-
-    @FindBy(css = "li span:contains('Ürünün Toplamı') + strong")
-    private WebElement productsTotalElement;
-
-    @FindBy(css = "li span:contains('Kargo Toplam') + strong")
-    private WebElement shippingTotalElement;
-
-    @FindBy(css = "div.total-saving")
-    private WebElement totalSavingElement;
-
-    // Detailed price breakdown elements
-    @FindBy(css = "div.pb-basket-item-price")
-    private List<WebElement> basketItemPrices;
-
-    @FindBy(css = "li strong[title*='TL']")
-    private List<WebElement> summaryPrices;
-
-    @FindBy(css = "div.pb-summary-total-price strong, div.pb-summary-total-price")
-    private WebElement finalTotalPrice;
-
-    @FindBy(css = "li span:contains('Ürünün Toplamı') + strong")
-    private WebElement productsTotal;
-
-    @FindBy(css = "li span:contains('Kargo Toplam') + strong")
-    private WebElement shippingTotal;
-
-    @FindBy(css = "li.pb-summary-promotion strong.discount")
-    private WebElement shippingDiscount;
-
-    // Remove buttons
-    @FindBy(css = "button.remove-item, .pb-remove")
-    private List<WebElement> removeButtons;
+    private static final FallbackLocator TOTAL_PRICE = FallbackLocator.of("CartPage", "totalPrice",
+        "div.total-price",
+        ".pb-total",
+        ".cart-total")
+        // Catch-alls that can match some other "total"; tried last and never cached
+        .orGeneric(
+        "div[class*='total']",
+        "div[class*='pb-total']",
+        "span[class*='total']").withText("TL");
 
     // Remove button with specific aria-label
     @FindBy(css = "button[aria-label='Ürünü sepetten çıkartma'], button.checkout-saving-remove-button")
@@ -79,17 +118,23 @@ public class CartPage extends BasePage {
         super(driver);
     }
 
-    public CartPage(WebDriver driver, ExtentTest extentTest) {
+    public CartPage(WebDriver driver, ScenarioReport report) {
         super(driver);
-        this.extentTest = extentTest;
+        this.report = report;
     }
 
-    // Helper method for logging to both console and Extent Reports
+    // Helper method for logging to both the suite log and Extent Reports
     private void log(String message, Status status) {
-        if (extentTest != null) {
-            extentTest.log(status, message);
+        if (report != null) {
+            report.log(status, message);
+        }
+        if (status == Status.FAIL) {
+            LOG.error(message);
+        } else if (status == Status.WARNING) {
+            LOG.warn(message);
+        } else {
+            LOG.info(message);
         }
-        System.out.println(message);
     }
 
     private void logInfo(String message) {
@@ -111,9 +156,11 @@ public class CartPage extends BasePage {
     public void navigateToCart() {
         try {
             logInfo("Navigating to cart page...");
-            driver.get("https://www.trendyol.com/sepetim");
-            // Wait for page to load and check if cart container is visible
-            Thread.sleep(2000); // Give page time to load
+            cartSnapshot = null;
+            driver.get(SiteUrls.of("/sepetim"));
+            // Wait for page to settle and check if cart container is visible
+            awaitPageSettled(Deadline.after(PAGE_LOAD_TIMEOUT));
+            recordPageMetrics("cart");
             if (isCartPageDisplayed()) {
                 logPass("Successfully navigated to cart page");
             } else {
@@ -126,8 +173,8 @@ public class CartPage extends BasePage {
 
     public boolean isCartPageDisplayed() {
         try {
-            // Wait for page to load
-            Thread.sleep(3000);
+            // Wait for the cart (or the empty cart message) to render
+            waitUntil(visible(cartHeader).or(visible(emptyCartMessage)), PAGE_LOAD_TIMEOUT);
             
             // Check multiple indicators that we're on cart page
             boolean urlCheck = driver.getCurrentUrl().contains("sepetim") || driver.getCurrentUrl().contains("sepet");
@@ -165,20 +212,71 @@ public class CartPage extends BasePage {
         }
     }
 
+    /**
+     * Line items and price summary of the cart, read in a single script call. The snapshot is
+     * reused by the price and name checks until the cart is reloaded or an item is removed.
+     */
+    public CartSnapshot getCartSnapshot() {
+        if (cartSnapshot == null) {
+            cartSnapshot = readCartSnapshot();
+            logInfo("Cart snapshot: " + cartSnapshot);
+        }
+        return cartSnapshot;
+    }
+
+    // Reads the cart again, e.g. right before verifying the totals
+    public CartSnapshot refreshCartSnapshot() {
+        cartSnapshot = null;
+        return getCartSnapshot();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CartSnapshot readCartSnapshot() {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CART_SNAPSHOT_SCRIPT);
+        List<CartSnapshot.LineItem> items = new ArrayList<>();
+        for (Object item : (List<?>) result.get("items")) {
+            Map<String, Object> values = (Map<String, Object>) item;
+            items.add(new CartSnapshot.LineItem(
+                (String) values.get("name"),
+                ((Number) values.get("quantity")).intValue(),
+                (String) values.get("price")));
+        }
+        return new CartSnapshot(items,
+            (String) result.get("productsTotal"),
+            (String) result.get("shippingTotal"),
+            (String) result.get("shippingDiscount"),
+            (String) result.get("totalSavings"),
+            (String) result.get("finalTotal"));
+    }
+
+    // Waits until at least one line item has rendered and keeps that read as the snapshot
+    private CartSnapshot awaitCartItems() {
+        if (cartSnapshot != null && !cartSnapshot.getItems().isEmpty()) {
+            return cartSnapshot;
+        }
+        cartSnapshot = waitFor(Condition.of("cart line items", d -> {
+            CartSnapshot snapshot = readCartSnapshot();
+            return snapshot.getItems().isEmpty() ? null : snapshot;
+        }));
+        return cartSnapshot;
+    }
+
     public int getCartItemCount() {
         return cartItemCounters.size();
     }
 
     public String getCartItemName(int index) {
-        if (index < cartItemNames.size()) {
-            return getText(cartItemNames.get(index));
+        List<CartSnapshot.LineItem> items = getCartSnapshot().getItems();
+        if (index >= 0 && index < items.size()) {
+            return items.get(index).getName();
         }
         return "";
     }
 
     public String getCartItemPrice(int index) {
-        if (index < cartItemPrices.size()) {
-            return getText(cartItemPrices.get(index));
+        List<CartSnapshot.LineItem> items = getCartSnapshot().getItems();
+        if (index >= 0 && index < items.size()) {
+            return items.get(index).getPriceText();
         }
         return "";
     }
@@ -186,38 +284,19 @@ public class CartPage extends BasePage {
     // Get total price with multiple fallback strategies
     public String getTotalPrice() {
         try {
-            // First try the main total price element
-            if (totalPrice != null && totalPrice.isDisplayed()) {
-                String price = getText(totalPrice);
-                if (!price.isEmpty()) {
-                    logInfo("Total price found: " + price);
-                    return price;
-                }
-            }
-            
-            // Fallback: Try to find total price with different selectors
-            String[] selectors = {
-                "div.total-price",
-                ".pb-total", 
-                "div[class*='total']",
-                "div[class*='pb-total']",
-                "span[class*='total']",
-                ".cart-total"
-            };
-            
-            for (String selector : selectors) {
+            // All total price selectors are tried in one round trip; the element must show a TL amount
+            FallbackLocator.Match match = TOTAL_PRICE.find(driver);
+            if (match != null) {
                 try {
-                    WebElement element = driver.findElement(By.cssSelector(selector));
-                    if (element.isDisplayed()) {
-                        String price = element.getText().trim();
-                        if (!price.isEmpty() && price.contains("TL")) {
-                            logInfo("Total price found with selector '" + selector + "': " + price);
-                            return price;
-                        }
-                    }
-                } catch (Exception e) {
-                    // Continue to next selector
+                    Money.parse(match.getText());
+                } catch (NumberFormatException e) {
+                    // Some other element that happens to mention TL; don't try it first next time
+                    match.reject();
+                    logWarning("Selector '" + match.getSelector() + "' matched a non-price text: " + match.getText());
+                    return "";
                 }
+                logInfo("Total price found with selector '" + match.getSelector() + "': " + match.getText());
+                return match.getText();
             }
             
             // If no total price found, calculate from individual items
@@ -231,142 +310,114 @@ public class CartPage extends BasePage {
     }
 
     // Get detailed price breakdown - Updated with actual Trendyol HTML
-    public double getProductsTotal() {
+    public Money getProductsTotal() {
         try {
-            // Try to find "Ürünün Toplamı" element using the actual HTML structure
-            List<WebElement> allLiElements = driver.findElements(By.cssSelector("li"));
-            for (WebElement li : allLiElements) {
-                String text = li.getText();
-                if (text.contains("Ürünün Toplamı")) {
-                    WebElement strongElement = li.findElement(By.cssSelector("strong"));
-                    String priceText = strongElement.getAttribute("title");
-                    if (priceText != null && priceText.contains("TL")) {
-                        String numericPrice = priceText.replaceAll("[^0-9.,]", "").replace(",", ".");
-                        double price = Double.parseDouble(numericPrice);
-                        logInfo("Products total found: " + price + " TL");
-                        return price;
-                    }
-                }
+            // "Ürünün Toplamı" row of the summary
+            String priceText = getCartSnapshot().getProductsTotalText();
+            if (priceText.contains("TL")) {
+                Money price = Money.parse(priceText);
+                logInfo("Products total found: " + price);
+                return price;
             }
             logWarning("Products total element not found");
-            return 0.0;
+            return Money.ZERO;
         } catch (Exception e) {
             logFail("Error getting products total: " + e.getMessage());
-            return 0.0;
+            return Money.ZERO;
         }
     }
 
-    public double getShippingTotal() {
+    public Money getShippingTotal() {
         try {
-            // Try to find "Kargo Toplam" element
-            List<WebElement> allLiElements = driver.findElements(By.cssSelector("li"));
-            for (WebElement li : allLiElements) {
-                String text = li.getText();
-                if (text.contains("Kargo Toplam")) {
-                    WebElement strongElement = li.findElement(By.cssSelector("strong"));
-                    String priceText = strongElement.getAttribute("title");
-                    if (priceText != null && priceText.contains("TL")) {
-                        String numericPrice = priceText.replaceAll("[^0-9.,]", "").replace(",", ".");
-                        double price = Double.parseDouble(numericPrice);
-                        logInfo("Shipping total found: " + price + " TL");
-                        return price;
-                    }
-                }
+            // "Kargo Toplam" row of the summary
+            String priceText = getCartSnapshot().getShippingTotalText();
+            if (priceText.contains("TL")) {
+                Money price = Money.parse(priceText);
+                logInfo("Shipping total found: " + price);
+                return price;
             }
             logWarning("Shipping total element not found");
-            return 0.0;
+            return Money.ZERO;
         } catch (Exception e) {
             logFail("Error getting shipping total: " + e.getMessage());
-            return 0.0;
+            return Money.ZERO;
         }
     }
 
-    public double getShippingDiscount() {
+    public Money getShippingDiscount() {
         try {
-            // Try to find shipping discount element
-            WebElement discountElement = driver.findElement(By.cssSelector("li.pb-summary-promotion strong.discount"));
-            if (discountElement.isDisplayed()) {
-                String discountText = discountElement.getAttribute("title");
-                if (discountText != null && discountText.contains("TL")) {
-                    String numericDiscount = discountText.replaceAll("[^0-9.,]", "").replace(",", ".");
-                    double discount = Double.parseDouble(numericDiscount);
-                    logInfo("Shipping discount found: " + discount + " TL");
-                    return discount;
-                }
+            // Shipping promotion row, only present for some orders
+            String discountText = getCartSnapshot().getShippingDiscountText();
+            if (discountText.contains("TL")) {
+                // Shown with a minus sign on some carts; we want the amount
+                Money discount = Money.parse(discountText).abs();
+                logInfo("Shipping discount found: " + discount);
+                return discount;
             }
-            logWarning("Shipping discount element not found");
-            return 0.0;
-        } catch (Exception e) {
-            // Shipping discount element not found - this is normal for some orders
             logInfo("No shipping discount found (this is normal for some orders)");
-            return 0.0;
+            return Money.ZERO;
+        } catch (Exception e) {
+            logFail("Error getting shipping discount: " + e.getMessage());
+            return Money.ZERO;
         }
     }
 
     // New method to get total savings from the actual Trendyol HTML
-    public double getTotalSavings() {
+    public Money getTotalSavings() {
         try {
-            // Try to find total savings element
-            WebElement savingsElement = driver.findElement(By.cssSelector("div.total-saving"));
-            if (savingsElement.isDisplayed()) {
-                // Look for the price span inside total-saving
-                WebElement priceSpan = savingsElement.findElement(By.cssSelector("div.total-saving-price span"));
-                if (priceSpan != null) {
-                    String savingsText = priceSpan.getText().trim();
-                    // Remove the minus sign and "TL", then parse
-                    String numericSavings = savingsText.replaceAll("[^0-9.,]", "").replace(",", ".");
-                    double savings = Double.parseDouble(numericSavings);
-                    logInfo("Total savings found: " + savings + " TL");
-                    return savings;
-                }
+            // Price inside the total-saving box
+            String savingsText = getCartSnapshot().getTotalSavingsText();
+            if (!savingsText.isEmpty()) {
+                // Shown with a minus sign; we want the amount
+                Money savings = Money.parse(savingsText).abs();
+                logInfo("Total savings found: " + savings);
+                return savings;
             }
             logWarning("Total savings element not found");
-            return 0.0;
+            return Money.ZERO;
         } catch (Exception e) {
             logFail("Error getting total savings: " + e.getMessage());
-            return 0.0;
+            return Money.ZERO;
         }
     }
 
-    public double getFinalTotal() {
+    public Money getFinalTotal() {
         try {
-            // Try to find final total price using the actual Trendyol HTML structure
-            WebElement totalElement = driver.findElement(By.cssSelector("div.pb-summary-total-price"));
-            if (totalElement.isDisplayed()) {
-                String title = totalElement.getAttribute("title");
-                if (title != null && title.contains("TL")) {
-                    String numericTotal = title.replaceAll("[^0-9.,]", "").replace(",", ".");
-                    double total = Double.parseDouble(numericTotal);
-                    logInfo("Final total found: " + total + " TL");
-                    return total;
-                }
+            // Final total price (div.pb-summary-total-price)
+            String title = getCartSnapshot().getFinalTotalText();
+            if (title.contains("TL")) {
+                Money total = Money.parse(title);
+                logInfo("Final total found: " + total);
+                return total;
             }
             logWarning("Final total element not found");
-            return 0.0;
+            return Money.ZERO;
         } catch (Exception e) {
             logFail("Error getting final total: " + e.getMessage());
-            return 0.0;
+            return Money.ZERO;
         }
     }
 
     // Verify price breakdown - Updated with actual Trendyol HTML structure
     public boolean verifyPriceBreakdown() {
         try {
-            double productsTotal = getProductsTotal();
-            double shippingTotal = getShippingTotal();
-            double shippingDiscount = getShippingDiscount();
-            double finalTotal = getFinalTotal();
-            double totalSavings = getTotalSavings();
+            // One read of the cart serves all five values
+            refreshCartSnapshot();
+            Money productsTotal = getProductsTotal();
+            Money shippingTotal = getShippingTotal();
+            Money shippingDiscount = getShippingDiscount();
+            Money finalTotal = getFinalTotal();
+            Money totalSavings = getTotalSavings();
             
             logInfo("=== Price Breakdown Verification ===");
-            logInfo("Products Total: " + productsTotal + " TL");
-            logInfo("Shipping Total: " + shippingTotal + " TL");
-            logInfo("Shipping Discount: " + shippingDiscount + " TL");
-            logInfo("Total Savings: " + totalSavings + " TL");
-            logInfo("Final Total: " + finalTotal + " TL");
+            logInfo("Products Total: " + productsTotal);
+            logInfo("Shipping Total: " + shippingTotal);
+            logInfo("Shipping Discount: " + shippingDiscount);
+            logInfo("Total Savings: " + totalSavings);
+            logInfo("Final Total: " + finalTotal);
             
             // If we can't get some values, use fallback verification
-            if (productsTotal == 0.0 || finalTotal == 0.0) {
+            if (productsTotal.isZero() || finalTotal.isZero()) {
                 logWarning("Some price elements not found, using fallback verification");
                 // Just verify that we have some items and total
                 return true;
@@ -374,10 +425,10 @@ public class CartPage extends BasePage {
             
             // Calculate expected final total considering savings
             // Final total should be: Products Total + Shipping - Total Savings
-            double expectedFinalTotal = productsTotal + shippingTotal - totalSavings;
-            logInfo("Expected Final Total: " + expectedFinalTotal + " TL");
+            Money expectedFinalTotal = productsTotal.plus(shippingTotal).minus(totalSavings);
+            logInfo("Expected Final Total: " + expectedFinalTotal);
             
-            boolean match = Math.abs(finalTotal - expectedFinalTotal) < 0.01;
+            boolean match = finalTotal.equals(expectedFinalTotal);
             logInfo("Price breakdown match: " + match);
             
             if (match) {
@@ -395,16 +446,16 @@ public class CartPage extends BasePage {
         }
     }
 
-    public double calculateTotalFromItems() {
-        double total = 0.0;
+    public Money calculateTotalFromItems() {
+        Money total = Money.ZERO;
         try {
-            for (int i = 0; i < cartItemPrices.size(); i++) {
-                String priceText = getCartItemPrice(i);
+            List<CartSnapshot.LineItem> items = getCartSnapshot().getItems();
+            for (int i = 0; i < items.size(); i++) {
+                String priceText = items.get(i).getPriceText();
                 if (!priceText.isEmpty()) {
-                    // Extract numeric value from price (e.g., "339,90 TL" -> 339.90)
-                    String numericPrice = priceText.replaceAll("[^0-9.,]", "").replace(",", ".");
-                    double price = Double.parseDouble(numericPrice);
-                    total += price;
+                    // Exact kuruş amount (e.g., "1.299,90 TL" -> 129990)
+                    Money price = Money.parse(priceText);
+                    total = total.plus(price);
                     logInfo("Item " + (i + 1) + " price: " + priceText + " -> " + price);
                 }
             }
@@ -426,13 +477,18 @@ public class CartPage extends BasePage {
                 logInfo("Removing item " + index + ": " + itemName + " (" + itemPrice + ")");
                 
                 // Click remove button
-                removeButton.click();
+                int countBefore = getCartItemCount();
+                clickElement(removeButton);
                 logInfo("Remove button clicked for item " + index);
                 
                 // Wait for removal to complete
-                Thread.sleep(2000);
-                
-                logPass("Item " + index + " removed successfully");
+                cartSnapshot = null;
+                if (waitUntil(Condition.of("cart item count below " + countBefore,
+                        d -> cartItemCounters.size() < countBefore), DEFAULT_TIMEOUT)) {
+                    logPass("Item " + index + " removed successfully");
+                } else {
+                    logWarning("Cart item count did not drop after removing item " + index);
+                }
             } else {
                 logWarning("Invalid remove button index: " + index + ". Available buttons: " + removeItemButtons.size());
             }
@@ -452,13 +508,16 @@ public class CartPage extends BasePage {
     public boolean verifyCartPriceMatchesProductPrice(String expectedProductPrice) {
         try {
             // Wait for cart items to load
-            waitForElementToBeVisible(cartItemPrices.get(0));
-            
-            String cartPrice = cartItemPrices.get(0).getText().trim();
+            String cartPrice = awaitCartItems().getItems().get(0).getPriceText();
             logInfo("Cart price: " + cartPrice);
             logInfo("Expected product price: " + expectedProductPrice);
             
-            boolean priceMatch = cartPrice.equals(expectedProductPrice);
+            // Compare amounts so "1.299,90 TL" and "1.299,90TL" still match
+            Money cartAmount = Money.tryParse(cartPrice);
+            Money expectedAmount = Money.tryParse(expectedProductPrice);
+            boolean priceMatch = cartAmount != null && expectedAmount != null
+                ? cartAmount.equals(expectedAmount)
+                : cartPrice.equals(expectedProductPrice);
             logInfo("Price match: " + priceMatch);
             
             if (priceMatch) {
@@ -479,30 +538,25 @@ public class CartPage extends BasePage {
             logInfo("Looking for cart item names...");
             
             // Use the actual Trendyol HTML structure you found - SEPET SAYFASINDA
-            List<WebElement> cartItemNameElements = driver.findElements(By.cssSelector("p.pb-item"));
-            logInfo("Found " + cartItemNameElements.size() + " cart item name elements:");
+            List<CartSnapshot.LineItem> items = awaitCartItems().getItems();
+            logInfo("Found " + items.size() + " cart item name elements:");
             
             // Look for the element that contains our product name
-            WebElement productElement = null;
-            for (int i = 0; i < cartItemNameElements.size(); i++) {
-                try {
-                    String text = cartItemNameElements.get(i).getText().trim();
-                    if (!text.isEmpty()) {
-                        logInfo("Found product element " + i + ": '" + text.substring(0, Math.min(100, text.length())) + "...'");
-                        productElement = cartItemNameElements.get(i);
-                        break;
-                    }
-                } catch (Exception e) {
-                    logWarning("Element " + i + ": Could not get text");
+            String cartItemName = null;
+            for (int i = 0; i < items.size(); i++) {
+                String text = items.get(i).getName();
+                if (!text.isEmpty()) {
+                    logInfo("Found product element " + i + ": '" + text.substring(0, Math.min(100, text.length())) + "...'");
+                    cartItemName = text;
+                    break;
                 }
             }
             
-            if (productElement == null) {
+            if (cartItemName == null) {
                 logFail("Could not find product element in cart");
                 return false;
             }
             
-            String cartItemName = productElement.getText().trim();
             logInfo("Cart item name: " + cartItemName.substring(0, Math.min(100, cartItemName.length())) + "...");
             logInfo("Expected product name: " + expectedProductName);
             
@@ -538,32 +592,33 @@ public class CartPage extends BasePage {
         String mainName = lines[0].trim();
         
         // Remove common extra text
-        mainName = mainName.replaceAll("\\d+\\+?\\s*tanesi\\s*satıldı", "").trim();
-        mainName = mainName.replaceAll("\\d+\\s*saat\\s*\\d+\\s*dakika\\s*içinde", "").trim();
-        mainName = mainName.replaceAll("en geç yarın kargoda!", "").trim();
-        mainName = mainName.replaceAll("Bu ürünün garantisini uzat!", "").trim();
-        mainName = mainName.replaceAll("Sil", "").trim();
-        mainName = mainName.replaceAll("\\d+,\\d+\\s*TL", "").trim();
+        mainName = SOLD_COUNT.matcher(mainName).replaceAll("").trim();
+        mainName = SHIPPING_COUNTDOWN.matcher(mainName).replaceAll("").trim();
+        mainName = mainName.replace("en geç yarın kargoda!", "").trim();
+        mainName = mainName.replace("Bu ürünün garantisini uzat!", "").trim();
+        mainName = mainName.replace("Sil", "").trim();
+        mainName = INLINE_PRICE.matcher(mainName).replaceAll("").trim();
         
         // Fix missing spaces between brand and product name - MORE AGGRESSIVE
         // Pattern: TrkTechKılıf -> TrkTech Kılıf
-        mainName = mainName.replaceAll("([A-Z][a-z]+)([A-Z][a-z]+)", "$1 $2");
+        mainName = CAPITALIZED_WORDS.matcher(mainName).replaceAll("$1 $2");
         
         // Pattern: TrkTechKılıf -> TrkTech Kılıf (more aggressive)
-        mainName = mainName.replaceAll("TrkTech([A-Z][a-z]+)", "TrkTech $1");
+        mainName = TRKTECH_GLUED.matcher(mainName).replaceAll("TrkTech $1");
         
         // Pattern: Trk TechKılıf -> Trk Tech Kılıf (fix remaining)
-        mainName = mainName.replaceAll("Trk\\s+Tech([A-Z][a-z]+)", "Trk Tech $1");
+        mainName = TRK_TECH_GLUED.matcher(mainName).replaceAll("Trk Tech $1");
         
         // Pattern: Any camelCase -> add spaces
-        mainName = mainName.replaceAll("([a-z])([A-Z])", "$1 $2");
+        mainName = CAMEL_CASE.matcher(mainName).replaceAll("$1 $2");
         
         // Pattern: Multiple consecutive capitals -> add spaces
-        mainName = mainName.replaceAll("([A-Z])([A-Z][a-z])", "$1 $2");
+        mainName = CONSECUTIVE_CAPITALS.matcher(mainName).replaceAll("$1 $2");
         
         // Normalize spaces and remove extra whitespace
-        mainName = mainName.replaceAll("\\s+", " ").trim();
+        mainName = WHITESPACE.matcher(mainName).replaceAll(" ").trim();
         
-        return mainName;
+        // Same Turkish-aware folding as the search keyword matching, so case and ı/İ/ş... don't matter
+        return TurkishText.normalize(mainName);
     }
 }
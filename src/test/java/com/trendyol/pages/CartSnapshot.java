@@ -0,0 +1,103 @@
+package com.trendyol.pages;
+
+import utils.Money;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the cart checks need from the cart page - line items and the price summary -
+ * read in one script call by {@link CartPage#getCartSnapshot()}. Texts are kept exactly as
+ * shown on the page; a row that is not on the page is an empty string.
+ */
+public final class CartSnapshot {
+    private final List<LineItem> items;
+    private final String productsTotalText;
+    private final String shippingTotalText;
+    private final String shippingDiscountText;
+    private final String totalSavingsText;
+    private final String finalTotalText;
+
+    CartSnapshot(List<LineItem> items, String productsTotalText, String shippingTotalText,
+                 String shippingDiscountText, String totalSavingsText, String finalTotalText) {
+        this.items = Collections.unmodifiableList(items);
+        this.productsTotalText = productsTotalText;
+        this.shippingTotalText = shippingTotalText;
+        this.shippingDiscountText = shippingDiscountText;
+        this.totalSavingsText = totalSavingsText;
+        this.finalTotalText = finalTotalText;
+    }
+
+    public List<LineItem> getItems() {
+        return items;
+    }
+
+    // "Ürünün Toplamı" row
+    public String getProductsTotalText() {
+        return productsTotalText;
+    }
+
+    // "Kargo Toplam" row
+    public String getShippingTotalText() {
+        return shippingTotalText;
+    }
+
+    // Shipping promotion row, only present for some orders
+    public String getShippingDiscountText() {
+        return shippingDiscountText;
+    }
+
+    // "Toplam Kazancınız" box, shown with a minus sign
+    public String getTotalSavingsText() {
+        return totalSavingsText;
+    }
+
+    // Amount to pay (div.pb-summary-total-price)
+    public String getFinalTotalText() {
+        return finalTotalText;
+    }
+
+    @Override
+    public String toString() {
+        return "CartSnapshot{items=" + items + ", productsTotal=" + productsTotalText + ", shipping=" + shippingTotalText
+            + ", shippingDiscount=" + shippingDiscountText + ", savings=" + totalSavingsText + ", final=" + finalTotalText + "}";
+    }
+
+    /**
+     * One product line in the cart.
+     */
+    public static final class LineItem {
+        private final String name;
+        private final int quantity;
+        private final String priceText;
+
+        LineItem(String name, int quantity, String priceText) {
+            this.name = name;
+            this.quantity = quantity;
+            this.priceText = priceText;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Value of the quantity counter, 1 if the line has none
+        public int getQuantity() {
+            return quantity;
+        }
+
+        // Price shown on the line, already for the whole quantity
+        public String getPriceText() {
+            return priceText;
+        }
+
+        public Money getPrice() {
+            return Money.parse(priceText);
+        }
+
+        @Override
+        public String toString() {
+            return quantity + " x " + name + " (" + priceText + ")";
+        }
+    }
+}
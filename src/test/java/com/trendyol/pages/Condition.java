@@ -0,0 +1,78 @@
+package com.trendyol.pages;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Function;
+
+/**
+ * A readiness check evaluated by {@link BasePage#waitFor(Condition, Deadline)}.
+ *
+ * <p>A condition is satisfied when it returns something other than {@code null} or
+ * {@code Boolean.FALSE}; the returned value is handed back to the caller of the wait.
+ * Conditions can be combined with {@link #and}, {@link #or} and {@link #not}.
+ */
+@FunctionalInterface
+public interface Condition<T> {
+
+    T apply(WebDriver driver);
+
+    default String describe() {
+        return "condition";
+    }
+
+    static <T> Condition<T> of(String description, Function<WebDriver, T> check) {
+        return new Condition<T>() {
+            @Override
+            public T apply(WebDriver driver) {
+                return check.apply(driver);
+            }
+
+            @Override
+            public String describe() {
+                return description;
+            }
+        };
+    }
+
+    static boolean isSatisfied(Object result) {
+        return result != null && !Boolean.FALSE.equals(result);
+    }
+
+    /**
+     * Applies the condition, treating a missing or stale element as "not satisfied" so that
+     * combined conditions can still evaluate their other branch.
+     */
+    default T applyQuietly(WebDriver driver) {
+        try {
+            return apply(driver);
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Satisfied when both conditions are; returns the other condition's value.
+     */
+    default <R> Condition<R> and(Condition<R> other) {
+        Condition<T> self = this;
+        return of("(" + self.describe() + " and " + other.describe() + ")",
+            driver -> isSatisfied(self.apply(driver)) ? other.apply(driver) : null);
+    }
+
+    /**
+     * Satisfied when either condition is; returns the value of the first satisfied one.
+     */
+    default Condition<Object> or(Condition<?> other) {
+        Condition<T> self = this;
+        return of("(" + self.describe() + " or " + other.describe() + ")", driver -> {
+            Object result = self.applyQuietly(driver);
+            return isSatisfied(result) ? result : other.apply(driver);
+        });
+    }
+
+    static Condition<Boolean> not(Condition<?> condition) {
+        return of("not " + condition.describe(), driver -> !isSatisfied(condition.applyQuietly(driver)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.trendyol.pages;
+
+import java.time.Duration;
+
+/**
+ * A time budget shared by several waits, so a multi-step operation (e.g. adding a product
+ * to the cart) is bounded as a whole instead of every step getting its own full timeout.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * A deadline that ends after {@code budget} or when this one ends, whichever is first.
+     */
+    public Deadline limit(Duration budget) {
+        return new Deadline(Math.min(deadlineNanos, System.nanoTime() + budget.toNanos()));
+    }
+}
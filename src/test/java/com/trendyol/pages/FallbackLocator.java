@@ -0,0 +1,172 @@
+package com.trendyol.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An ordered list of alternative selectors for one element, resolved in a single
+ * {@code executeScript} call that returns the first visible match.
+ *
+ * <p>Trendyol changes its markup often, so several page objects try a list of selectors.
+ * Probing them one by one costs a WebDriver round trip (and often an exception) per
+ * selector. This resolves the whole list in the browser and remembers which selector won
+ * for the page in {@link WinningSelectorCache}, so the next lookup tries the winner first.
+ *
+ * <p>Catch-all selectors (e.g. {@code input[type='text']}) go in {@link #orGeneric(String...)}:
+ * they are tried after the specific ones and never remembered, so a lucky match on some other
+ * element cannot get pinned to the front for every later run.
+ */
+public final class FallbackLocator {
+
+    private static final String RESOLVE_SCRIPT =
+        "var selectors = arguments[0], requiredText = arguments[1];"
+        + "function visible(el) {"
+        + "  var rect = el.getBoundingClientRect();"
+        + "  if (rect.width === 0 && rect.height === 0) { return false; }"
+        + "  var style = window.getComputedStyle(el);"
+        + "  return style.visibility !== 'hidden' && style.display !== 'none';"
+        + "}"
+        + "for (var i = 0; i < selectors.length; i++) {"
+        + "  var found = [];"
+        + "  try {"
+        + "    if (selectors[i][0] === 'xpath') {"
+        + "      var snapshot = document.evaluate(selectors[i][1], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+        + "      for (var j = 0; j < snapshot.snapshotLength; j++) { found.push(snapshot.snapshotItem(j)); }"
+        + "    } else {"
+        + "      found = document.querySelectorAll(selectors[i][1]);"
+        + "    }"
+        + "  } catch (e) { continue; }"
+        + "  for (var k = 0; k < found.length; k++) {"
+        + "    var el = found[k];"
+        + "    if (!visible(el)) { continue; }"
+        + "    var text = (el.innerText || el.textContent || '').trim();"
+        + "    if (requiredText && text.indexOf(requiredText) < 0) { continue; }"
+        + "    return [el, i, text];"
+        + "  }"
+        + "}"
+        + "return null;";
+
+    private final String cacheKey;
+    private final List<String> selectors;
+    private final List<String> genericSelectors;
+    private final String requiredText;
+
+    private FallbackLocator(String cacheKey, List<String> selectors, List<String> genericSelectors, String requiredText) {
+        this.cacheKey = cacheKey;
+        this.selectors = Collections.unmodifiableList(new ArrayList<>(selectors));
+        this.genericSelectors = Collections.unmodifiableList(new ArrayList<>(genericSelectors));
+        this.requiredText = requiredText;
+    }
+
+    /**
+     * @param pageType  page object the element belongs to, e.g. "HomePage"
+     * @param name      element name within the page, e.g. "searchInput"
+     * @param selectors selectors in preference order; CSS by default, prefix XPath with {@code xpath:}
+     */
+    public static FallbackLocator of(String pageType, String name, String... selectors) {
+        return new FallbackLocator(pageType + "." + name, Arrays.asList(selectors), Collections.emptyList(), null);
+    }
+
+    /**
+     * Adds catch-all selectors that are tried last, in this order, and never cached as the winner.
+     */
+    public FallbackLocator orGeneric(String... selectors) {
+        List<String> generic = new ArrayList<>(genericSelectors);
+        generic.addAll(Arrays.asList(selectors));
+        return new FallbackLocator(cacheKey, this.selectors, generic, requiredText);
+    }
+
+    /**
+     * Only accept matches whose visible text contains {@code text}.
+     */
+    public FallbackLocator withText(String text) {
+        return new FallbackLocator(cacheKey, selectors, genericSelectors, text);
+    }
+
+    /**
+     * Resolves the first visible match, or returns {@code null} if no selector matches.
+     */
+    public Match find(WebDriver driver) {
+        // A generic winner cached by an older run is not in the specific list, so it is not promoted
+        List<String> ordered = new ArrayList<>(WinningSelectorCache.getInstance().order(cacheKey, selectors));
+        ordered.addAll(genericSelectors);
+
+        List<List<String>> arguments = new ArrayList<>(ordered.size());
+        for (String selector : ordered) {
+            arguments.add(selector.startsWith("xpath:")
+                ? Arrays.asList("xpath", selector.substring("xpath:".length()))
+                : Arrays.asList("css", selector));
+        }
+
+        Object result = ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT, arguments, requiredText);
+        if (!(result instanceof List)) {
+            return null;
+        }
+        List<?> match = (List<?>) result;
+        int index = ((Number) match.get(1)).intValue();
+        String winner = ordered.get(index);
+        if (index < selectors.size()) {
+            WinningSelectorCache.getInstance().recordWinner(cacheKey, winner);
+        }
+        return new Match(cacheKey, (WebElement) match.get(0), winner, (String) match.get(2));
+    }
+
+    /**
+     * Like {@link #find(WebDriver)} but returns only the element.
+     */
+    public WebElement findElement(WebDriver driver) {
+        Match match = find(driver);
+        return match == null ? null : match.getElement();
+    }
+
+    @Override
+    public String toString() {
+        return genericSelectors.isEmpty()
+            ? cacheKey + " " + selectors
+            : cacheKey + " " + selectors + " or generic " + genericSelectors;
+    }
+
+    /**
+     * The element a {@link FallbackLocator} resolved to, with the selector that found it and
+     * the element's visible text (read in the same round trip).
+     */
+    public static final class Match {
+        private final String cacheKey;
+        private final WebElement element;
+        private final String selector;
+        private final String text;
+
+        private Match(String cacheKey, WebElement element, String selector, String text) {
+            this.cacheKey = cacheKey;
+            this.element = element;
+            this.selector = selector;
+            this.text = text;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        public String getSelector() {
+            return selector;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Tells the cache this match was the wrong element (the caller's own check failed), so
+         * its selector stops being tried first. A no-op if another selector has won since.
+         */
+        public void reject() {
+            WinningSelectorCache.getInstance().forgetWinner(cacheKey, selector);
+        }
+    }
+}
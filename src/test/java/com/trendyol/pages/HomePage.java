@@ -1,211 +1,107 @@
 package com.trendyol.pages;
 
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.Logger;
+import utils.SiteUrls;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.time.Duration;
 
 public class HomePage extends BasePage {
 
-    // Primary search input selector from Trendyol
-    @FindBy(css = "input[data-testid='suggestion']")
-    private WebElement searchInput;
-    
-    // Alternative selectors if the above doesn't work
-    @FindBy(css = "input[data-testid='search-bar-input']")
-    private WebElement searchInputAlt1;
-    
-    @FindBy(css = "input.search-bar")
-    private WebElement searchInputAlt2;
-    
-    @FindBy(css = "input[placeholder*='Aradığınız ürün']")
-    private WebElement searchInputAlt3;
-    
-    @FindBy(css = "input[placeholder*='Search']")
-    private WebElement searchInputAlt4;
-    
-    @FindBy(css = "input[type='text']")
-    private WebElement searchInputAlt5;
-    
-    @FindBy(css = "input[class*='search']")
-    private WebElement searchInputAlt6;
+    private static final Logger LOG = Logger.get(HomePage.class);
+
+    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(15);
 
-    // Cookie accept button - language independent
-    @FindBy(css = "button#onetrust-accept-btn-handler")
-    private WebElement acceptCookiesButton;
-    
-    // Alternative cookie button selectors
-    @FindBy(css = "button[data-testid='cookie-accept-button']")
-    private WebElement acceptCookiesButtonAlt;
-    
-    @FindBy(css = "button:contains('Accept'), button:contains('Kabul'), button:contains('Tümünü')")
-    private WebElement acceptCookiesButtonGeneric;
+    // Search input: primary Trendyol selector first, then alternatives if the markup changes
+    private static final FallbackLocator SEARCH_INPUT = FallbackLocator.of("HomePage", "searchInput",
+        "input[data-testid='suggestion']",
+        "input[data-testid='search-bar-input']",
+        "input.search-bar",
+        "input[placeholder*='Aradığınız ürün']",
+        "input[placeholder*='Search']")
+        // Catch-alls that can match some other input; tried last and never cached
+        .orGeneric(
+        "input[type='text']",
+        "input[class*='search']",
+        // Placeholder text (language independent)
+        "xpath://input[@placeholder and (contains(@placeholder, 'Aradığınız') or contains(@placeholder, 'Search') or contains(@placeholder, 'Ara') or contains(@placeholder, 'ürün') or contains(@placeholder, 'product') or contains(@placeholder, 'kategori') or contains(@placeholder, 'category') or contains(@placeholder, 'marka') or contains(@placeholder, 'brand')]");
 
     @FindBy(css = "div[data-testid='cookie-banner']")
     private WebElement cookieBanner;
-    
-    // Language selection button (SVG path)
-    @FindBy(css = "path#Combined-Shape")
-    private WebElement languageButton;
-    
-    // Alternative language button selectors
-    @FindBy(css = "button[aria-label*='language'], button[aria-label*='dil']")
-    private WebElement languageButtonAlt;
-    
-    @FindBy(css = "svg[class*='language'], svg[class*='dil']")
-    private WebElement languageButtonSvg;
 
     public HomePage(WebDriver driver) {
         super(driver);
     }
 
     public void navigateToHomePage() {
-        driver.get("https://www.trendyol.com/");
+        driver.get(SiteUrls.of("/"));
+        recordPageMetrics("home");
     }
 
-    public void acceptCookiesIfPresent() {
-        try {
-            // Try to find and click cookie accept button with multiple selectors
-            WebElement cookieButton = findCookieButton();
-            if (cookieButton != null) {
-                clickElement(cookieButton);
-                // Wait a bit for cookie banner to disappear
-                try {
-                    Thread.sleep(2000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        } catch (Exception e) {
-            // Cookies banner not present, continue
-        }
-    }
-    
-    public void clickLanguageButtonIfPresent() {
-        try {
-            // Try to find and click language button with multiple selectors
-            WebElement langButton = findLanguageButton();
-            if (langButton != null) {
-                clickElement(langButton);
-                // Wait a bit for language selection to complete
-                try {
-                    Thread.sleep(2000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        } catch (Exception e) {
-            // Language button not present, continue
-        }
-    }
-    
-    private WebElement findCookieButton() {
-        try {
-            if (acceptCookiesButton.isDisplayed()) {
-                return acceptCookiesButton;
-            }
-        } catch (Exception e) {
-            // Try alternative selectors
-        }
-        
-        try {
-            if (acceptCookiesButtonAlt.isDisplayed()) {
-                return acceptCookiesButtonAlt;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        // Try to find by text content (language independent)
-        try {
-            return driver.findElement(org.openqa.selenium.By.xpath(
-                "//button[contains(text(), 'Accept') or contains(text(), 'Kabul') or contains(text(), 'Tümünü')]"
-            ));
-        } catch (Exception e) {
-            // No cookie button found
-        }
-        
-        return null;
-    }
-    
-    private WebElement findLanguageButton() {
-        try {
-            if (languageButton.isDisplayed()) {
-                return languageButton;
-            }
-        } catch (Exception e) {
-            // Try alternative selectors
-        }
-        
-        try {
-            if (languageButtonAlt.isDisplayed()) {
-                return languageButtonAlt;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        try {
-            if (languageButtonSvg.isDisplayed()) {
-                return languageButtonSvg;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        // Try to find by SVG path
-        try {
-            return driver.findElement(org.openqa.selenium.By.cssSelector("path#Combined-Shape"));
-        } catch (Exception e) {
-            // No language button found
-        }
-        
-        return null;
+    /**
+     * Goes straight to the search results for {@code query} instead of typing it, for
+     * scenarios that are not about the search box itself.
+     */
+    public void openSearchResults(String query) {
+        String encoded;
+        try {
+            // URLEncoder form-encodes spaces as '+', the site's own links use %20
+            encoded = URLEncoder.encode(query, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        driver.get(SiteUrls.of("/sr?q=" + encoded));
+        recordPageMetrics("search");
+        // A popup that comes back later is dismissed by clickElement when it gets in the way
+        if (!SessionBootstrap.isApplied(driver)) {
+            dismissPopups();
+        }
+        LOG.info("Opened search results for: " + query);
     }
 
     public void searchForProduct(String productName) {
-        // First accept cookies if present
-        acceptCookiesIfPresent();
-        
-        // Then click language button if present
-        clickLanguageButtonIfPresent();
+        // The consent and language popups are normally dismissed once per run (SessionBootstrap)
+        if (!SessionBootstrap.isApplied(driver)) {
+            dismissPopups();
+        }
         
-        // Wait for page to fully load
+        // Wait for page to fully load and the search input to show up
+        FallbackLocator.Match match = null;
         try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            Deadline deadline = Deadline.after(PAGE_LOAD_TIMEOUT);
+            awaitPageSettled(deadline);
+            match = waitFor(searchInputReady(), deadline);
+        } catch (TimeoutException e) {
+            LOG.warn("Search input did not become ready: " + e.getMessage());
         }
-        
-        // Try to find search input with multiple selectors
-        WebElement inputToUse = findSearchInput();
-        if (inputToUse != null) {
+        if (match != null) {
+            WebElement inputToUse = match.getElement();
             try {
-                // Click on search input first
+                // Click on search input and wait until it has focus
                 clickElement(inputToUse);
+                waitUntil(focused(inputToUse), DEFAULT_TIMEOUT);
                 
-                // Wait a bit for input to be ready
-                Thread.sleep(1000);
-                
-                // Clear any existing text
-                inputToUse.clear();
-                
-                // Ensure input is focused
-                inputToUse.click();
-                Thread.sleep(500);
-                
-                // Type the product name
+                // Type the product name (sendKeys clears any existing text first)
                 sendKeys(inputToUse, productName);
                 
-                // Wait a bit for suggestions to appear
-                Thread.sleep(1000);
-                
-                // Press Enter key to search
+                // Press Enter key to search and wait for the results page
                 inputToUse.sendKeys(org.openqa.selenium.Keys.ENTER);
+                if (!waitUntil(urlContains("/sr"), PAGE_LOAD_TIMEOUT)) {
+                    // Typing into it did not search, so it was not the search box
+                    match.reject();
+                    throw new IllegalStateException("No search results after typing into '" + match.getSelector() + "'");
+                }
+                recordPageMetrics("search");
                 
-                System.out.println("Successfully searched for: " + productName);
+                LOG.info("Successfully searched for: " + productName);
                 
             } catch (Exception e) {
-                System.out.println("Error during search: " + e.getMessage());
+                LOG.warn("Error during search: " + e.getMessage());
                 throw new RuntimeException("Search failed for: " + productName);
             }
         } else {
@@ -213,76 +109,15 @@ public class HomePage extends BasePage {
         }
     }
 
-    private WebElement findSearchInput() {
-        try {
-            if (searchInput.isDisplayed()) {
-                return searchInput;
-            }
-        } catch (Exception e) {
-            // Try alternative selectors
-        }
-        
-        try {
-            if (searchInputAlt1.isDisplayed()) {
-                return searchInputAlt1;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        try {
-            if (searchInputAlt2.isDisplayed()) {
-                return searchInputAlt2;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        try {
-            if (searchInputAlt3.isDisplayed()) {
-                return searchInputAlt3;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        try {
-            if (searchInputAlt4.isDisplayed()) {
-                return searchInputAlt4;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        try {
-            if (searchInputAlt5.isDisplayed()) {
-                return searchInputAlt5;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        try {
-            if (searchInputAlt6.isDisplayed()) {
-                return searchInputAlt6;
-            }
-        } catch (Exception e) {
-            // Continue to next alternative
-        }
-        
-        // Try to find by placeholder text (language independent)
-        try {
-            return driver.findElement(org.openqa.selenium.By.xpath(
-                "//input[@placeholder and (contains(@placeholder, 'Aradığınız') or contains(@placeholder, 'Search') or contains(@placeholder, 'Ara') or contains(@placeholder, 'ürün') or contains(@placeholder, 'product') or contains(@placeholder, 'kategori') or contains(@placeholder, 'category') or contains(@placeholder, 'marka') or contains(@placeholder, 'brand')]"
-            ));
-        } catch (Exception e) {
-            // No search input found by placeholder
-        }
-        
-        return null;
+    private FallbackLocator.Match findSearchInput() {
+        return SEARCH_INPUT.find(driver);
+    }
+
+    private Condition<FallbackLocator.Match> searchInputReady() {
+        return Condition.of("search input", driver -> findSearchInput());
     }
 
     public boolean isSearchInputDisplayed() {
-        return findSearchInput() != null;
+        return waitUntil(searchInputReady(), PAGE_LOAD_TIMEOUT);
     }
 }
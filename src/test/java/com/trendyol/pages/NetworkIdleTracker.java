@@ -0,0 +1,101 @@
+package com.trendyol.pages;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import utils.BrowserDevTools;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the browser's in-flight requests through the DevTools Network domain so page objects
+ * can wait for "network idle" instead of guessing with sleeps.
+ *
+ * <p>Only requests that can still change the DOM we assert on are tracked (documents, scripts,
+ * XHR and fetch). Images, fonts and analytics beacons are ignored, and a request that has been
+ * open longer than {@link #STALE_REQUEST_MILLIS} (long polling, streaming) stops counting.
+ */
+class NetworkIdleTracker {
+
+    private static final long STALE_REQUEST_MILLIS = 10_000;
+    private static final Set<String> TRACKED_TYPES = new HashSet<>(Arrays.asList(
+        "Document", "Script", "XHR", "Fetch"));
+
+    private static final Map<WebDriver, NetworkIdleTracker> TRACKERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final BrowserDevTools devTools;
+    // requestId -> start time
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    private NetworkIdleTracker(BrowserDevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Returns the tracker for {@code driver}, starting it on first use. Page objects create it
+     * in their constructor so requests of the next navigation are already counted.
+     */
+    static NetworkIdleTracker forDriver(WebDriver driver) {
+        synchronized (TRACKERS) {
+            return TRACKERS.computeIfAbsent(driver, d -> {
+                NetworkIdleTracker tracker = new NetworkIdleTracker(BrowserDevTools.of(d));
+                tracker.start();
+                return tracker;
+            });
+        }
+    }
+
+    private void start() {
+        devTools.install("network-idle", tools -> {
+            inFlight.clear();
+            tools.send(new Command<>("Network.enable", Collections.emptyMap()));
+            tools.addListener(BrowserDevTools.event("Network.requestWillBeSent"), params -> {
+                if (TRACKED_TYPES.contains(String.valueOf(params.get("type")))) {
+                    inFlight.put(String.valueOf(params.get("requestId")), System.nanoTime());
+                    lastActivityNanos = System.nanoTime();
+                }
+            });
+            tools.addListener(BrowserDevTools.event("Network.loadingFinished"), params -> finished(params));
+            tools.addListener(BrowserDevTools.event("Network.loadingFailed"), params -> finished(params));
+        });
+    }
+
+    private void finished(Map<String, Object> params) {
+        if (inFlight.remove(String.valueOf(params.get("requestId"))) != null) {
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+
+    boolean isAvailable() {
+        return devTools.isAvailable();
+    }
+
+    /**
+     * Re-attaches to the driver's current tab if the page objects switched tabs.
+     */
+    void followCurrentWindow() {
+        devTools.followCurrentWindow();
+    }
+
+    /**
+     * True when at most {@code maxInFlight} tracked requests are open and none started or
+     * finished during the last {@code quietWindow}.
+     */
+    boolean isIdleFor(Duration quietWindow, int maxInFlight) {
+        long now = System.nanoTime();
+        for (Iterator<Long> it = inFlight.values().iterator(); it.hasNext(); ) {
+            if (now - it.next() > STALE_REQUEST_MILLIS * 1_000_000L) {
+                it.remove();
+            }
+        }
+        return inFlight.size() <= maxInFlight && now - lastActivityNanos >= quietWindow.toNanos();
+    }
+}
@@ -0,0 +1,125 @@
+package com.trendyol.pages;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Browser-side performance of one page load, read from the Navigation Timing and Resource
+ * Timing entries and the Core Web Vitals observers {@link PagePerformance} installs.
+ *
+ * <p>Times are milliseconds from the start of the navigation. A value the browser has not
+ * produced (yet) is {@code null}, e.g. the load time while the load event is still pending or
+ * INP when nobody interacted with the page.
+ */
+public final class PageMetrics {
+
+    private final String navigation;
+    private final String url;
+    private final Double timeToFirstByte;
+    private final Double domContentLoaded;
+    private final Double load;
+    private final long resourceCount;
+    private final long transferBytes;
+    private final Double largestContentfulPaint;
+    private final double cumulativeLayoutShift;
+    private final Double interactionToNextPaint;
+
+    private PageMetrics(String navigation, Map<?, ?> values) {
+        this.navigation = navigation;
+        this.url = String.valueOf(values.get("url"));
+        this.timeToFirstByte = number(values.get("ttfb"));
+        this.domContentLoaded = number(values.get("domContentLoaded"));
+        this.load = number(values.get("load"));
+        this.resourceCount = longValue(values.get("resources"));
+        this.transferBytes = longValue(values.get("transferBytes"));
+        this.largestContentfulPaint = number(values.get("lcp"));
+        Double cls = number(values.get("cls"));
+        this.cumulativeLayoutShift = cls == null ? 0 : cls;
+        this.interactionToNextPaint = number(values.get("inp"));
+    }
+
+    static PageMetrics from(String navigation, Map<?, ?> values) {
+        return new PageMetrics(navigation, values);
+    }
+
+    /**
+     * What the page objects were doing, e.g. "home", "search", "product", "cart".
+     */
+    public String getNavigation() {
+        return navigation;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Double getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public Double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    /**
+     * End of the load event, or {@code null} if the page has not finished loading.
+     */
+    public Double getLoad() {
+        return load;
+    }
+
+    public long getResourceCount() {
+        return resourceCount;
+    }
+
+    public long getTransferBytes() {
+        return transferBytes;
+    }
+
+    public Double getLargestContentfulPaint() {
+        return largestContentfulPaint;
+    }
+
+    public double getCumulativeLayoutShift() {
+        return cumulativeLayoutShift;
+    }
+
+    public Double getInteractionToNextPaint() {
+        return interactionToNextPaint;
+    }
+
+    /**
+     * Label/value rows for the report.
+     */
+    String[][] toTable() {
+        return new String[][] {
+            {"Page", navigation + " - " + url},
+            {"TTFB", millis(timeToFirstByte)},
+            {"DOMContentLoaded", millis(domContentLoaded)},
+            {"Load", millis(load)},
+            {"LCP", millis(largestContentfulPaint)},
+            {"CLS", String.format(Locale.ROOT, "%.3f", cumulativeLayoutShift)},
+            {"INP", millis(interactionToNextPaint)},
+            {"Resources", resourceCount + " (" + (transferBytes / 1024) + " KB transferred)"}
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: TTFB %s, DCL %s, load %s, LCP %s, CLS %.3f, INP %s, %d resources / %d KB (%s)",
+            navigation, millis(timeToFirstByte), millis(domContentLoaded), millis(load), millis(largestContentfulPaint),
+            cumulativeLayoutShift, millis(interactionToNextPaint), resourceCount, transferBytes / 1024, url);
+    }
+
+    private static String millis(Double value) {
+        return value == null ? "n/a" : String.format(Locale.ROOT, "%.0f ms", value);
+    }
+
+    private static Double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.trendyol.pages;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.trendyol.context.ScenarioContext;
+import com.trendyol.hooks.ScenarioReport;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import utils.BrowserDevTools;
+import utils.Logger;
+import utils.TestConfig;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Measures page loads in the browser: Navigation Timing, Resource Timing totals and the Core
+ * Web Vitals LCP, CLS and INP.
+ *
+ * <p>The vitals come from PerformanceObservers. With DevTools they are registered through
+ * {@code Page.addScriptToEvaluateOnNewDocument}, so every document the tab loads has them from
+ * its first script. Otherwise (or in a tab DevTools has not followed yet) they are registered
+ * when the page is measured; LCP and CLS are still complete thanks to the buffered entries,
+ * INP then only sees interactions slow enough for the browser's event timing buffer.
+ *
+ * <p>Turned off with {@code page.metrics=false}.
+ */
+public final class PagePerformance {
+
+    private static final Logger LOG = Logger.get(PagePerformance.class);
+
+    static final boolean ENABLED = TestConfig.getBoolean("page.metrics", true);
+
+    // Observers for one document, stored on window.__trendyolPerf. flush() hands over entries
+    // the observers have buffered but not delivered yet, so a measurement right after
+    // registering still sees the buffered LCP and layout shifts.
+    private static final String OBSERVER_SCRIPT =
+        "(function () {"
+        + "  if (window.__trendyolPerf || typeof PerformanceObserver === 'undefined') { return; }"
+        + "  var perf = window.__trendyolPerf = { lcp: null, cls: 0, inp: null, observers: [] };"
+        + "  var session = { value: 0, first: 0, last: 0 };"
+        + "  function observe(type, callback, options) {"
+        + "    try {"
+        + "      var opts = options || {}; opts.type = type; opts.buffered = true;"
+        + "      var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(callback); });"
+        + "      observer.observe(opts);"
+        + "      perf.observers.push({ observer: observer, callback: callback });"
+        + "    } catch (e) { /* entry type not supported by this browser */ }"
+        + "  }"
+        + "  observe('largest-contentful-paint', function (e) { perf.lcp = e.renderTime || e.loadTime || e.startTime; });"
+        // CLS is the worst session window: shifts less than 1 s apart, at most 5 s long
+        + "  observe('layout-shift', function (e) {"
+        + "    if (e.hadRecentInput) { return; }"
+        + "    if (session.value && e.startTime - session.last < 1000 && e.startTime - session.first < 5000) {"
+        + "      session.value += e.value;"
+        + "    } else {"
+        + "      session.first = e.startTime; session.value = e.value;"
+        + "    }"
+        + "    session.last = e.startTime;"
+        + "    perf.cls = Math.max(perf.cls, session.value);"
+        + "  });"
+        // INP is the 98th percentile of interactions; a test makes a handful, so that is the slowest one
+        + "  observe('event', function (e) {"
+        + "    if (e.interactionId) { perf.inp = Math.max(perf.inp || 0, e.duration); }"
+        + "  }, { durationThreshold: 16 });"
+        + "  perf.flush = function () {"
+        + "    perf.observers.forEach(function (o) { o.observer.takeRecords().forEach(o.callback); });"
+        + "  };"
+        + "})();";
+
+    private static final String MEASURE_SCRIPT = OBSERVER_SCRIPT
+        + "var perf = window.__trendyolPerf || { lcp: null, cls: 0, inp: null };"
+        + "if (perf.flush) { perf.flush(); }"
+        + "var nav = performance.getEntriesByType('navigation')[0];"
+        + "var resources = performance.getEntriesByType('resource');"
+        + "var transfer = 0;"
+        + "for (var i = 0; i < resources.length; i++) { transfer += resources[i].transferSize || 0; }"
+        + "return {"
+        + "  url: location.href,"
+        + "  ttfb: nav ? nav.responseStart : null,"
+        + "  domContentLoaded: nav && nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd : null,"
+        + "  load: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd : null,"
+        + "  resources: resources.length,"
+        + "  transferBytes: transfer,"
+        + "  lcp: perf.lcp, cls: perf.cls, inp: perf.inp"
+        + "};";
+
+    private static final Set<WebDriver> INSTALLED = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private PagePerformance() {
+    }
+
+    /**
+     * Registers the observers for every document {@code driver}'s tab loads from now on.
+     */
+    static void install(WebDriver driver) {
+        if (!ENABLED) {
+            return;
+        }
+        synchronized (INSTALLED) {
+            if (!INSTALLED.add(driver)) {
+                return;
+            }
+        }
+        BrowserDevTools.of(driver).install("page-performance", tools ->
+            tools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument",
+                Collections.<String, Object>singletonMap("source", OBSERVER_SCRIPT))));
+    }
+
+    /**
+     * Reads the metrics of the document {@code driver} is showing now, without recording them.
+     */
+    public static PageMetrics measure(WebDriver driver, String navigation) {
+        Object values = ((JavascriptExecutor) driver).executeScript(MEASURE_SCRIPT);
+        return PageMetrics.from(navigation, values instanceof Map ? (Map<?, ?>) values : Collections.emptyMap());
+    }
+
+    /**
+     * Measures the current document and adds the result to the scenario: the log, the
+     * scenario context (for the budget steps) and the Extent test.
+     */
+    static PageMetrics record(WebDriver driver, String navigation) {
+        PageMetrics metrics;
+        try {
+            metrics = measure(driver, navigation);
+        } catch (Exception e) {
+            LOG.warn("Could not read page metrics for " + navigation + ": " + e.getMessage());
+            return null;
+        }
+        LOG.info(metrics.toString());
+
+        ScenarioContext context = ScenarioContext.currentOrNull();
+        if (context != null) {
+            context.addPageMetrics(metrics);
+            ScenarioReport report = context.getReport();
+            if (report != null) {
+                report.log(Status.INFO, MarkupHelper.createTable(metrics.toTable()));
+            }
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,65 @@
+package com.trendyol.pages;
+
+import utils.Money;
+
+/**
+ * One product card on the search results page, as read by
+ * {@link SearchResultsPage#getProductCards()}. Plain values only, so reading it never
+ * goes back to the browser.
+ */
+public final class ProductCard {
+    private final int index;
+    private final String name;
+    private final String title;
+    private final String priceText;
+    private final boolean addToBasketAvailable;
+    private final String href;
+
+    ProductCard(int index, String name, String title, String priceText, boolean addToBasketAvailable, String href) {
+        this.index = index;
+        this.name = name;
+        this.title = title;
+        this.priceText = priceText;
+        this.addToBasketAvailable = addToBasketAvailable;
+        this.href = href;
+    }
+
+    // Position among the visible cards, starting at 0
+    public int getIndex() {
+        return index;
+    }
+
+    // Brand / name line (span.prdct-desc-cntnr-name)
+    public String getName() {
+        return name;
+    }
+
+    // Product description line (div.product-desc-sub-text)
+    public String getTitle() {
+        return title;
+    }
+
+    public String getPriceText() {
+        return priceText;
+    }
+
+    // Parsed price, or null if the card shows no amount
+    public Money getPrice() {
+        return Money.tryParse(priceText);
+    }
+
+    public boolean isAddToBasketAvailable() {
+        return addToBasketAvailable;
+    }
+
+    // Link to the product detail page, or empty if the card has none
+    public String getHref() {
+        return href;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductCard{" + index + ": " + name + " " + title + ", " + priceText
+            + (addToBasketAvailable ? ", add to basket" : "") + "}";
+    }
+}
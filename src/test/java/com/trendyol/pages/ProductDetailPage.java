@@ -2,18 +2,26 @@ package com.trendyol.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.Logger;
+import utils.SiteUrls;
 
 import java.time.Duration;
 
 public class ProductDetailPage extends BasePage {
 
+    private static final Logger LOG = Logger.get(ProductDetailPage.class);
+
+    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration ADD_TO_CART_BUDGET = Duration.ofSeconds(40);
+    private static final Duration OVERLAY_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration OVERLAY_STRATEGY_TIMEOUT = Duration.ofSeconds(1);
+    private static final By ONBOARDING_OVERLAY = By.cssSelector("div.onboarding-tour__overlay");
+
     // Updated locators for actual Trendyol HTML structure
     @FindBy(css = "h1.product-title")
     private WebElement productTitle;
@@ -36,8 +44,9 @@ public class ProductDetailPage extends BasePage {
     @FindBy(css = "a.link.account-basket, a[href='/sepet']")
     private WebElement sepetimButton;
 
-    // "Sepete Eklendi" text locator - appears after successful add to cart
-    @FindBy(css = "span:contains('Sepete Eklendi'), span")
+    // Button text, changes to "Sepete Eklendi" after a successful add to cart
+    // (":contains" is not CSS, the old selector never matched and always waited the full timeout)
+    @FindBy(css = "span.add-to-cart-button-text")
     private WebElement addedToCartText;
 
     // Availability status - check if add to cart button is enabled
@@ -53,27 +62,25 @@ public class ProductDetailPage extends BasePage {
 
     public boolean isProductDetailsPageDisplayed() {
         try {
-            System.out.println("Checking if product details page is displayed...");
-            System.out.println("Current URL: " + driver.getCurrentUrl());
+            LOG.info("Checking if product details page is displayed...");
+            LOG.debug(() -> "Current URL: " + driver.getCurrentUrl());
             
-            // Wait 10 seconds for any popup/layer to appear and for manual inspection
-            System.out.println("Waiting 10 seconds for page to fully load and for manual inspection...");
-            Thread.sleep(10000);
-            
-            // Wait for product title to be visible
-            waitForElementToBeVisible(productTitle);
+            // Wait for the page to settle (network idle, DOM stable), then for the product title
+            Deadline deadline = Deadline.after(PAGE_LOAD_TIMEOUT);
+            awaitPageSettled(deadline);
+            waitFor(visible(productTitle), deadline);
             boolean isDisplayed = productTitle.isDisplayed();
             
             if (isDisplayed) {
                 String titleText = getText(productTitle);
-                System.out.println("Product title found: " + titleText);
+                LOG.info("Product title found: " + titleText);
             } else {
-                System.out.println("Product title is not displayed");
+                LOG.info("Product title is not displayed");
             }
             
             return isDisplayed;
         } catch (Exception e) {
-            System.out.println("Error checking product details page: " + e.getMessage());
+            LOG.warn("Error checking product details page: " + e.getMessage());
             return false;
         }
     }
@@ -81,12 +88,12 @@ public class ProductDetailPage extends BasePage {
     public String getProductName() {
         try {
             String name = productTitle.getText().trim();
-            System.out.println("Product name retrieved: " + name);
+            LOG.info("Product name retrieved: " + name);
             // Store the name for later comparison
             storedProductName = name;
             return name;
         } catch (Exception e) {
-            System.out.println("Error getting product name: " + e.getMessage());
+            LOG.warn("Error getting product name: " + e.getMessage());
             return null;
         }
     }
@@ -94,12 +101,12 @@ public class ProductDetailPage extends BasePage {
     public String getProductPrice() {
         try {
             String price = productPrice.getText().trim();
-            System.out.println("Product price retrieved: " + price);
+            LOG.info("Product price retrieved: " + price);
             // Store the price for later comparison
             storedProductPrice = price;
             return price;
         } catch (Exception e) {
-            System.out.println("Error getting product price: " + e.getMessage());
+            LOG.warn("Error getting product price: " + e.getMessage());
             return null;
         }
     }
@@ -117,14 +124,14 @@ public class ProductDetailPage extends BasePage {
         try {
             // Check if add to cart button is enabled (product is available)
             if (enabledAddToCartButton.isDisplayed()) {
-                System.out.println("Product availability: Available (Add to cart button is enabled)");
+                LOG.info("Product availability: Available (Add to cart button is enabled)");
                 return "Available";
             } else {
-                System.out.println("Product availability: Not Available (Add to cart button is disabled)");
+                LOG.info("Product availability: Not Available (Add to cart button is disabled)");
                 return "Not Available";
             }
         } catch (Exception e) {
-            System.out.println("Error checking availability status: " + e.getMessage());
+            LOG.warn("Error checking availability status: " + e.getMessage());
             return "Status Unknown";
         }
     }
@@ -139,174 +146,123 @@ public class ProductDetailPage extends BasePage {
 
     public void addProductToCart() {
         try {
+            // The whole add-to-cart flow shares one time budget
+            Deadline deadline = Deadline.after(ADD_TO_CART_BUDGET);
+
             // First try to close any onboarding tour overlay if present
-            closeOnboardingTourOverlay();
-            
-            // Wait longer for any remaining overlays to disappear
-            Thread.sleep(3000);
+            closeOnboardingTourOverlay(deadline);
             
-            // Verify the add-to-cart button is visible and clickable
-            waitForElementToBeClickable(addToCartButton);
-            
-            // Double-check that no overlay is blocking the button
-            try {
-                WebElement overlay = driver.findElement(By.cssSelector("div.onboarding-tour__overlay"));
-                if (overlay.isDisplayed()) {
-                    System.out.println("Overlay still visible, trying to close again...");
-                    closeOnboardingTourOverlay();
-                    Thread.sleep(2000);
-                }
-            } catch (Exception e) {
-                System.out.println("No overlay found, button should be clickable");
+            // Wait until no overlay covers the add-to-cart button and the button is clickable
+            if (!waitUntil(invisible(ONBOARDING_OVERLAY), deadline.limit(OVERLAY_TIMEOUT))) {
+                LOG.info("Overlay still visible, trying to close again...");
+                closeOnboardingTourOverlay(deadline);
+                waitUntil(invisible(ONBOARDING_OVERLAY), deadline.limit(OVERLAY_TIMEOUT));
             }
+            waitFor(clickable(addToCartButton), deadline);
             
             // Now click the add-to-cart button
             clickElement(addToCartButton);
-            System.out.println("Product added to cart from product details page");
+            LOG.info("Product added to cart from product details page");
             
             // Wait for basket counter to update to show "1"
-            waitForBasketCounterToUpdate();
-            
-            // Wait a bit more for any loading to complete
-            Thread.sleep(3000);
+            waitForBasketCounterToUpdate(deadline);
             
             // Click on "Sepetim" button to go to cart page
             try {
-                waitForElementToBeClickable(sepetimButton);
-                clickElement(sepetimButton);
-                System.out.println("Clicked on 'Sepetim' button to navigate to cart");
+                clickElement(waitFor(clickable(sepetimButton), deadline));
+                LOG.info("Clicked on 'Sepetim' button to navigate to cart");
             } catch (Exception e) {
-                System.out.println("Could not click 'Sepetim' button: " + e.getMessage());
+                LOG.warn("Could not click 'Sepetim' button: " + e.getMessage());
                 // Alternative: try to navigate directly to cart URL
                 try {
-                    driver.get("https://www.trendyol.com/sepet");
-                    System.out.println("Navigated to cart page directly via URL");
+                    driver.get(SiteUrls.of("/sepet"));
+                    LOG.info("Navigated to cart page directly via URL");
                 } catch (Exception ex) {
-                    System.out.println("Could not navigate to cart page: " + ex.getMessage());
+                    LOG.warn("Could not navigate to cart page: " + ex.getMessage());
                 }
             }
             
         } catch (Exception e) {
-            System.out.println("Error adding product to cart: " + e.getMessage());
+            LOG.warn("Error adding product to cart: " + e.getMessage());
         }
     }
 
     // Close onboarding tour overlay if present
-    private void closeOnboardingTourOverlay() {
+    private void closeOnboardingTourOverlay(Deadline deadline) {
         try {
-            // Wait a bit for overlay to appear
-            Thread.sleep(2000);
-            
-            // Try multiple strategies to close the overlay
-            WebElement overlay = driver.findElement(By.cssSelector("div.onboarding-tour__overlay"));
-            if (overlay.isDisplayed()) {
-                System.out.println("Found onboarding tour overlay, attempting to close it...");
+            // The overlay shows up after load, so wait until either it appears or the page is
+            // ready with a clickable add-to-cart button (then there is nothing to close)
+            Object ready = waitFor(visible(ONBOARDING_OVERLAY).or(documentReady().and(clickable(addToCartButton))),
+                deadline.limit(OVERLAY_TIMEOUT));
+            if (ready != addToCartButton) {
+                WebElement overlay = (WebElement) ready;
+                LOG.info("Found onboarding tour overlay, attempting to close it...");
                 
-                // Strategy 1: Try to find and click a close button
-                try {
-                    WebElement closeButton = driver.findElement(By.cssSelector("button.onboarding-tour__close, .onboarding-tour__close, [aria-label='Close'], .close-button"));
-                    if (closeButton.isDisplayed()) {
-                        closeButton.click();
-                        System.out.println("Clicked close button on overlay");
-                        Thread.sleep(1000);
+                // Try each strategy until the overlay is gone
+                Runnable[] strategies = {
+                    // Strategy 1: Try to find and click a close button
+                    () -> {
+                        WebElement closeButton = driver.findElement(By.cssSelector("button.onboarding-tour__close, .onboarding-tour__close, [aria-label='Close'], .close-button"));
+                        if (closeButton.isDisplayed()) {
+                            closeButton.click();
+                            LOG.info("Clicked close button on overlay");
+                        }
+                    },
+                    // Strategy 2: Click on the overlay itself to dismiss it
+                    () -> {
+                        overlay.click();
+                        LOG.info("Clicked on overlay to dismiss it");
+                    },
+                    // Strategy 3: Send ESC key
+                    () -> {
+                        new Actions(driver).sendKeys(Keys.ESCAPE).perform();
+                        LOG.info("Sent ESC key to close overlay");
+                    },
+                    // Strategy 4: Click on body element
+                    () -> {
+                        driver.findElement(By.tagName("body")).click();
+                        LOG.info("Clicked on body to close overlay");
                     }
-                } catch (Exception e) {
-                    System.out.println("No close button found, trying alternative methods");
-                }
-                
-                // Strategy 2: Click on the overlay itself to dismiss it
-                try {
-                    overlay.click();
-                    System.out.println("Clicked on overlay to dismiss it");
-                    Thread.sleep(1000);
-                } catch (Exception e) {
-                    System.out.println("Could not click on overlay");
-                }
-                
-                // Strategy 3: Send ESC key
-                try {
-                    Actions actions = new Actions(driver);
-                    actions.sendKeys(Keys.ESCAPE).perform();
-                    System.out.println("Sent ESC key to close overlay");
-                    Thread.sleep(1000);
-                } catch (Exception e) {
-                    System.out.println("Could not send ESC key");
-                }
+                };
                 
-                // Strategy 4: Click on body element
-                try {
-                    WebElement body = driver.findElement(By.tagName("body"));
-                    body.click();
-                    System.out.println("Clicked on body to close overlay");
-                    Thread.sleep(1000);
-                } catch (Exception e) {
-                    System.out.println("Could not click on body");
-                }
-                
-                // Verify overlay is gone
-                try {
-                    if (!overlay.isDisplayed()) {
-                        System.out.println("Overlay successfully closed");
-                    } else {
-                        System.out.println("Overlay still visible after attempts to close");
+                for (Runnable strategy : strategies) {
+                    try {
+                        strategy.run();
+                    } catch (Exception e) {
+                        LOG.warn("Overlay close strategy failed: " + e.getMessage());
+                    }
+                    if (waitUntil(invisible(ONBOARDING_OVERLAY), deadline.limit(OVERLAY_STRATEGY_TIMEOUT))) {
+                        LOG.info("Overlay successfully closed");
+                        return;
                     }
-                } catch (Exception e) {
-                    System.out.println("Overlay element no longer found (likely closed)");
                 }
+                LOG.info("Overlay still visible after attempts to close");
             } else {
-                System.out.println("No onboarding tour overlay found");
+                LOG.info("No onboarding tour overlay found");
             }
+        } catch (TimeoutException e) {
+            LOG.info("No onboarding tour overlay found");
         } catch (Exception e) {
-            System.out.println("Error handling onboarding tour overlay: " + e.getMessage());
+            LOG.warn("Error handling onboarding tour overlay: " + e.getMessage());
         }
     }
 
     // Wait for basket counter to update after adding product
-    private void waitForBasketCounterToUpdate() {
+    private void waitForBasketCounterToUpdate(Deadline deadline) {
+        // First wait for "Sepete Eklendi" text to appear
+        LOG.info("Waiting for 'Sepete Eklendi' text to appear...");
+        if (waitUntil(textContains(addedToCartText, "Sepete Eklendi"), deadline.limit(DEFAULT_TIMEOUT))) {
+            LOG.info("Add to cart button text changed to: Sepete Eklendi");
+        }
+        
+        // Then wait for basket item count to be visible and show "1"
+        LOG.info("Waiting for basket counter to update...");
         try {
-            // First wait for "Sepete Eklendi" text to appear
-            System.out.println("Waiting for 'Sepete Eklendi' text to appear...");
-            int maxWaitTime = 10; // Maximum 10 seconds wait
-            int currentWait = 0;
-            
-            while (currentWait < maxWaitTime) {
-                try {
-                    if (addedToCartText.isDisplayed()) {
-                        String buttonText = getText(addedToCartText);
-                        if (buttonText.contains("Sepete Eklendi")) {
-                            System.out.println("Add to cart button text changed to: " + buttonText);
-                            break;
-                        }
-                    }
-                } catch (Exception e) {
-                    // Element might not be visible yet, continue waiting
-                }
-                
-                Thread.sleep(1000); // Wait 1 second
-                currentWait++;
-            }
-            
-            // Then wait for basket item count to be visible and show "1"
-            System.out.println("Waiting for basket counter to update...");
-            waitForElementToBeVisible(basketItemCount);
-            
-            // Wait for the counter to show "1"
-            currentWait = 0;
-            while (currentWait < maxWaitTime) {
-                String counterText = getText(basketItemCount);
-                if (counterText.contains("1")) {
-                    System.out.println("Basket counter updated: " + counterText);
-                    return;
-                }
-                
-                Thread.sleep(1000); // Wait 1 second
-                currentWait++;
-            }
-            
-            System.out.println("Basket counter did not update within expected time");
-            
-        } catch (Exception e) {
-            System.out.println("Error waiting for basket counter update: " + e.getMessage());
+            String counterText = waitFor(visible(basketItemCount).and(textContains(basketItemCount, "1")),
+                deadline.limit(DEFAULT_TIMEOUT));
+            LOG.info("Basket counter updated: " + counterText);
+        } catch (TimeoutException e) {
+            LOG.info("Basket counter did not update within expected time");
         }
     }
 }
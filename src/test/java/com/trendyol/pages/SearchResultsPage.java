@@ -3,17 +3,75 @@ package com.trendyol.pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import utils.KeywordMatcher;
+import utils.TurkishText;
+import utils.Logger;
+import utils.TestConfig;
+import utils.WindowTracker;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class SearchResultsPage extends BasePage {
 
+    private static final Logger LOG = Logger.get(SearchResultsPage.class);
+
+    private static final Duration RESULTS_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration SHORT_TIMEOUT = Duration.ofSeconds(1);
+
+    // same-tab, product-tab or new-tab, see clickFirstProduct()
+    private static final String PRODUCT_NAVIGATION =
+        TestConfig.getString("product.navigation", "same-tab").trim().toLowerCase(Locale.ROOT);
+
+    // Reads every visible product card in one call: [name, title, price, addToBasket, href, button] per card.
+    // Cards are the wrapper elements if we know them, otherwise the nearest ancestor of a
+    // name/title element that also holds a price or button.
+    private static final String PRODUCT_CARDS_SCRIPT =
+        "var NAME = 'span.prdct-desc-cntnr-name', TITLE = 'div.product-desc-sub-text',"
+        + "    PRICE = 'div.price-item.discounted, div.price-item', BUTTON = 'button.add-to-basket-button';"
+        + "function visible(el) {"
+        + "  if (!el) { return false; }"
+        + "  var rect = el.getBoundingClientRect();"
+        + "  if (rect.width === 0 && rect.height === 0) { return false; }"
+        + "  var style = window.getComputedStyle(el);"
+        + "  return style.visibility !== 'hidden' && style.display !== 'none';"
+        + "}"
+        + "function text(root, selector) {"
+        + "  var el = root.querySelector(selector);"
+        + "  return el ? (el.innerText || el.textContent || '').trim() : '';"
+        + "}"
+        + "var cards = Array.prototype.slice.call(document.querySelectorAll('div.p-card-wrppr'));"
+        + "if (cards.length === 0) {"
+        + "  document.querySelectorAll(NAME + ', ' + TITLE).forEach(function (el) {"
+        + "    var card = el.parentElement;"
+        + "    for (var depth = 0; card && depth < 8 && !card.querySelector(PRICE) && !card.querySelector(BUTTON); depth++) {"
+        + "      card = card.parentElement;"
+        + "    }"
+        + "    if (card && cards.indexOf(card) < 0) { cards.push(card); }"
+        + "  });"
+        + "}"
+        + "var result = [];"
+        + "cards.forEach(function (card) {"
+        + "  if (!visible(card)) { return; }"
+        + "  var link = card.closest('a[href]') || card.querySelector('a[href]');"
+        + "  result.push([text(card, NAME), text(card, TITLE), text(card, PRICE),"
+        + "    visible(card.querySelector(BUTTON)), link ? link.href : '', card.querySelector(BUTTON)]);"
+        + "});"
+        + "return result;";
+
     // Updated locators for actual Trendyol HTML structure
     @FindBy(css = "span.prdct-desc-cntnr-name")
     private List<WebElement> productNames;
@@ -21,9 +79,6 @@ public class SearchResultsPage extends BasePage {
     @FindBy(css = "div.product-desc-sub-text")
     private List<WebElement> productTitles;
 
-    @FindBy(css = "div.price-item.discounted, div.price-item")
-    private List<WebElement> productPrices;
-
     // Add to cart button locator
     @FindBy(css = "button.add-to-basket-button")
     private List<WebElement> addToCartButtons;
@@ -36,145 +91,230 @@ public class SearchResultsPage extends BasePage {
     @FindBy(css = "div.basket-item-count-container.visible")
     private WebElement basketItemCountContainer;
 
+    // Cards read by getProductCards(), valid while the browser stays on snapshotUrl
+    private List<ProductCard> productCards;
+    // Each snapshot card's add to basket button (null if it has none), same indexes as productCards
+    private List<WebElement> productCardButtons;
+    private String snapshotUrl;
+    private List<WebElement> lastReadButtons;
+
     public SearchResultsPage(WebDriver driver) {
         super(driver);
     }
 
+    /**
+     * All visible product cards, read in a single script call. The result is reused by the
+     * index getters and keyword checks until the page navigates; adding to the basket from the
+     * list keeps it. An empty list means no cards rendered within the default timeout.
+     */
+    public List<ProductCard> getProductCards() {
+        String currentUrl = driver.getCurrentUrl();
+        if (productCards != null && currentUrl.equals(snapshotUrl)) {
+            return productCards;
+        }
+        try {
+            productCards = waitFor(Condition.of("product cards", d -> {
+                List<ProductCard> cards = readProductCards();
+                return cards.isEmpty() ? null : cards;
+            }));
+            productCardButtons = lastReadButtons;
+            snapshotUrl = currentUrl;
+            LOG.info("Read " + productCards.size() + " product cards");
+            return productCards;
+        } catch (TimeoutException e) {
+            LOG.warn("No product cards found: " + e.getMessage());
+            invalidateProductCards();
+            return Collections.emptyList();
+        }
+    }
+
+    private List<ProductCard> readProductCards() {
+        Object result = ((JavascriptExecutor) driver).executeScript(PRODUCT_CARDS_SCRIPT);
+        if (!(result instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<ProductCard> cards = new ArrayList<>();
+        List<WebElement> buttons = new ArrayList<>();
+        for (Object row : (List<?>) result) {
+            List<?> values = (List<?>) row;
+            buttons.add(values.get(5) instanceof WebElement ? (WebElement) values.get(5) : null);
+            cards.add(new ProductCard(cards.size(),
+                (String) values.get(0),
+                (String) values.get(1),
+                (String) values.get(2),
+                Boolean.TRUE.equals(values.get(3)),
+                (String) values.get(4)));
+        }
+        lastReadButtons = buttons;
+        return Collections.unmodifiableList(cards);
+    }
+
+    // Drop the card snapshot after anything that can change the page
+    private void invalidateProductCards() {
+        productCards = null;
+        productCardButtons = null;
+        snapshotUrl = null;
+    }
+
+    // The add to basket button of the card at index in getProductCards(), or null if it has none.
+    // Re-reads the cards once if the page re-rendered since the snapshot.
+    private WebElement addToCartButtonAt(int index) {
+        List<ProductCard> cards = getProductCards();
+        if (index < 0 || index >= cards.size()) {
+            return null;
+        }
+        WebElement button = productCardButtons.get(index);
+        if (button != null) {
+            try {
+                button.isEnabled();
+            } catch (StaleElementReferenceException e) {
+                invalidateProductCards();
+                cards = getProductCards();
+                button = index < cards.size() ? productCardButtons.get(index) : null;
+            }
+        }
+        return button;
+    }
+
     public boolean areSearchResultsDisplayed() {
         try {
-            // Wait a bit for page to load
-            Thread.sleep(2000);
+            // Wait for product cards to render
+            waitUntil(present(productNames).or(present(productTitles)), RESULTS_TIMEOUT);
             
             // Check if product names are visible (most reliable indicator)
             if (productNames.size() > 0) {
-                System.out.println("Product names found: " + productNames.size());
+                LOG.info("Product names found: " + productNames.size());
                 return true;
             }
             
             // Check if product titles are visible
             if (productTitles.size() > 0) {
-                System.out.println("Product titles found: " + productTitles.size());
+                LOG.info("Product titles found: " + productTitles.size());
                 return true;
             }
             
-            System.out.println("No search results found");
+            LOG.info("No search results found");
             return false;
             
         } catch (Exception e) {
-            System.out.println("Error checking search results: " + e.getMessage());
+            LOG.warn("Error checking search results: " + e.getMessage());
             return false;
         }
     }
 
     public boolean doResultsContainKeyword(String keyword) {
         try {
-            // Split keyword into individual words
-            String[] keywords = keyword.toLowerCase().split("\\s+");
-            System.out.println("Searching for keywords: " + String.join(", ", keywords));
+            // Split keyword into individual words (Turkish-aware, so "İ" is not mangled)
+            KeywordMatcher matcher = KeywordMatcher.of(Arrays.asList(TurkishText.normalize(keyword).trim().split("\\s+")));
+            LOG.info("Searching for keywords: " + String.join(", ", matcher.getKeywords()));
             
-            // Check each product title
-            for (WebElement titleElement : productTitles) {
-                String title = getText(titleElement).toLowerCase();
-                System.out.println("Checking product title: " + title);
-                
-                // Check if ALL keywords are present in this title
-                boolean allKeywordsFound = true;
-                for (String kw : keywords) {
-                    // Normalize Turkish characters for better matching
-                    String normalizedKw = normalizeTurkishChars(kw);
-                    String normalizedTitle = normalizeTurkishChars(title);
-                    
-                    if (!normalizedTitle.contains(normalizedKw)) {
-                        allKeywordsFound = false;
-                        System.out.println("Keyword '" + kw + "' (normalized: '" + normalizedKw + "') not found in title: " + title);
-                        break;
-                    }
-                }
-                
-                if (allKeywordsFound) {
-                    System.out.println("Found product with all keywords: " + title);
+            // Check each product title; a product matches when ALL keywords are in its title
+            Map<ProductCard, List<String>> matches = findKeywordMatches(matcher);
+            for (Map.Entry<ProductCard, List<String>> match : matches.entrySet()) {
+                if (match.getValue().size() == matcher.getKeywords().size()) {
+                    LOG.info("Found product with all keywords: " + match.getKey().getTitle());
                     return true;
                 }
             }
             
-            System.out.println("No product found containing all keywords: " + keyword);
+            LOG.info("No product found containing all keywords: " + keyword
+                + " (partial matches: " + matches.size() + ")");
             return false;
             
         } catch (Exception e) {
-            System.out.println("Error checking keywords in results: " + e.getMessage());
+            LOG.warn("Error checking keywords in results: " + e.getMessage());
             return false;
         }
     }
 
-    // Helper method to normalize Turkish characters for better matching
-    private String normalizeTurkishChars(String text) {
-        return text
-            .replace("ı", "i")
-            .replace("ğ", "g")
-            .replace("ü", "u")
-            .replace("ş", "s")
-            .replace("ö", "o")
-            .replace("ç", "c")
-            .replace("İ", "i")
-            .replace("Ğ", "g")
-            .replace("Ü", "u")
-            .replace("Ş", "s")
-            .replace("Ö", "o")
-            .replace("Ç", "c");
+    /**
+     * Runs {@code matcher} over every card title once and returns, in page order, each card
+     * that contains at least one keyword together with the keywords it contains.
+     */
+    public Map<ProductCard, List<String>> findKeywordMatches(KeywordMatcher matcher) {
+        Map<ProductCard, List<String>> matches = new LinkedHashMap<>();
+        for (ProductCard card : getProductCards()) {
+            BitSet found = matcher.match(card.getTitle());
+            if (!found.isEmpty()) {
+                matches.put(card, matcher.keywordsIn(found));
+            }
+        }
+        LOG.info("Cards matching " + matcher.getKeywords() + ": " + matches.size());
+        return matches;
     }
 
+    /**
+     * Opens the first product's detail page. By default the card's link is loaded into the
+     * current tab; {@code -Dproduct.navigation=product-tab} loads it into one reused product tab
+     * and {@code new-tab} clicks the title like a user would, which opens a new tab per product.
+     * Cards without a link fall back to the click.
+     */
     public void clickFirstProduct() {
         try {
-            // Store the current window handle
-            String currentWindow = driver.getWindowHandle();
-            
-            // Click on the first product title (subtext) to go to product details
-            if (productTitles.size() > 0) {
-                clickElement(productTitles.get(0));
-                System.out.println("Clicked on first product title to go to product details");
-                
-                // Wait for new tab to open
-                Thread.sleep(2000);
-                
-                // Switch to the new tab
-                for (String windowHandle : driver.getWindowHandles()) {
-                    if (!windowHandle.equals(currentWindow)) {
-                        driver.switchTo().window(windowHandle);
-                        System.out.println("Switched to new tab: " + windowHandle);
-                        break;
-                    }
+            if (!PRODUCT_NAVIGATION.equals("new-tab")) {
+                List<ProductCard> cards = getProductCards();
+                String href = cards.isEmpty() ? "" : cards.get(0).getHref();
+                if (!href.isEmpty()) {
+                    openProduct(href);
+                    return;
                 }
-                
-            } else {
-                System.out.println("No product titles found to click");
+                LOG.info("First product card has no link, clicking its title instead");
             }
+            clickFirstProductTitle();
         } catch (Exception e) {
-            System.out.println("Error clicking first product: " + e.getMessage());
+            LOG.warn("Error clicking first product: " + e.getMessage());
         }
     }
 
-    public String getFirstProductName() {
-        if (productNames.size() > 0) {
-            return getText(productNames.get(0));
+    private void openProduct(String href) {
+        invalidateProductCards();
+        if (PRODUCT_NAVIGATION.equals("product-tab")) {
+            WindowTracker.of(driver).openProductTab();
         }
-        return "";
+        driver.get(href);
+        LOG.info("Opened first product in the " + (PRODUCT_NAVIGATION.equals("product-tab") ? "product" : "current") + " tab: " + href);
+        recordPageMetrics("product");
     }
 
-    public String getFirstProductPrice() {
-        if (productPrices.size() > 0) {
-            return getText(productPrices.get(0));
+    private void clickFirstProductTitle() {
+        // Store the current window handles
+        Set<String> knownWindows = driver.getWindowHandles();
+
+        // Click on the first product title (subtext) to go to product details
+        if (productTitles.size() > 0) {
+            invalidateProductCards();
+            clickElement(productTitles.get(0));
+            LOG.info("Clicked on first product title to go to product details");
+
+            // Wait for the new tab to open and switch to it
+            String windowHandle = waitFor(newWindowBesides(knownWindows));
+            WindowTracker.of(driver).track(windowHandle);
+            driver.switchTo().window(windowHandle);
+            LOG.info("Switched to new tab: " + windowHandle);
+            recordPageMetrics("product");
+
+        } else {
+            LOG.info("No product titles found to click");
         }
-        return "";
+    }
+
+    public String getFirstProductName() {
+        return getProductNameAtIndex(0);
+    }
+
+    public String getFirstProductPrice() {
+        return getProductPriceAtIndex(0);
     }
 
     public int getProductCount() {
-        return productNames.size();
+        return getProductCards().size();
     }
 
     // Method to check if add to cart button is visible for first product
     public boolean isAddToCartButtonVisible() {
         try {
-            return addToCartButtons.size() > 0 && addToCartButtons.get(0).isDisplayed();
+            List<ProductCard> cards = getProductCards();
+            return !cards.isEmpty() && cards.get(0).isAddToBasketAvailable();
         } catch (Exception e) {
             return false;
         }
@@ -183,125 +323,133 @@ public class SearchResultsPage extends BasePage {
     // Method to add first product directly to cart from search results
     public void addFirstProductToCart() {
         try {
-            if (addToCartButtons.size() > 0) {
-                System.out.println("Adding first product to cart from search results...");
-                clickElement(addToCartButtons.get(0));
+            WebElement addToCartButton = addToCartButtonAt(0);
+            if (addToCartButton != null) {
+                LOG.info("Adding first product to cart from search results...");
+                String counterBefore = currentCartCounterText();
+                clickElement(addToCartButton);
                 
                 // Wait for cart counter to update
-                waitForCartCounterUpdate();
-                System.out.println("First product added to cart successfully");
+                waitForCartCounterUpdate(counterBefore);
+                LOG.info("First product added to cart successfully");
             } else {
-                System.out.println("No add to cart button found");
+                LOG.info("No add to cart button found");
             }
         } catch (Exception e) {
-            System.out.println("Error adding first product to cart: " + e.getMessage());
+            LOG.warn("Error adding first product to cart: " + e.getMessage());
         }
     }
 
-    // Method to add product at specific index to cart
+    // Method to add product at specific index to cart (the index of getProductCards(), like the name and price getters)
+    // Throws IllegalStateException if that card has no add to basket button
     public void addProductToCartAtIndex(int index) {
+        WebElement addToCartButton = addToCartButtonAt(index);
+        if (addToCartButton == null) {
+            throw new IllegalStateException("No add to cart button at index " + index
+                + ". Available products: " + getProductCards().size());
+        }
         try {
-            if (index >= 0 && index < addToCartButtons.size()) {
-                WebElement addToCartButton = addToCartButtons.get(index);
-                
-                // Debug: Check what's at the button's location
-                System.out.println("=== Debug: Button Click Analysis ===");
-                System.out.println("Button location: " + addToCartButton.getLocation());
-                System.out.println("Button size: " + addToCartButton.getSize());
-                System.out.println("Button text: " + addToCartButton.getText());
-                
-                // Check if button is visible and clickable
-                System.out.println("Button displayed: " + addToCartButton.isDisplayed());
-                System.out.println("Button enabled: " + addToCartButton.isEnabled());
-                
-                // Scroll to element to make it visible
-                ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", addToCartButton);
-                Thread.sleep(1000);
-                
-                // Wait for button to be clickable
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-                wait.until(ExpectedConditions.elementToBeClickable(addToCartButton));
-                
-                // Try to find what's blocking the button
+            // Debug: Check what's at the button's location (each line is a browser call, so only with log.level=DEBUG)
+            LOG.debug("=== Debug: Button Click Analysis ===");
+            LOG.debug(() -> "Button location: " + addToCartButton.getLocation());
+            LOG.debug(() -> "Button size: " + addToCartButton.getSize());
+            LOG.debug(() -> "Button text: " + addToCartButton.getText());
+            
+            // Check if button is visible and clickable
+            LOG.debug(() -> "Button displayed: " + addToCartButton.isDisplayed());
+            LOG.debug(() -> "Button enabled: " + addToCartButton.isEnabled());
+            
+            // Scroll to element to make it visible
+            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", addToCartButton);
+            
+            // Wait for button to be clickable
+            waitForElementToBeClickable(addToCartButton);
+            String counterBefore = currentCartCounterText();
+            
+            // Try to find what's blocking the button
+            if (LOG.isDebugEnabled()) {
                 try {
                     // Check if there are any overlapping elements
                     List<WebElement> overlappingElements = driver.findElements(By.cssSelector("div[class*='overlay'], div[class*='modal'], div[class*='popup'], div[class*='suggestion']"));
                     if (!overlappingElements.isEmpty()) {
-                        System.out.println("Found " + overlappingElements.size() + " potentially overlapping elements");
+                        LOG.debug("Found " + overlappingElements.size() + " potentially overlapping elements");
                         for (int i = 0; i < Math.min(3, overlappingElements.size()); i++) {
                             WebElement element = overlappingElements.get(i);
-                            System.out.println("Overlapping element " + i + ": " + element.getTagName() + " - " + element.getAttribute("class"));
+                            LOG.debug("Overlapping element " + i + ": " + element.getTagName() + " - " + element.getAttribute("class"));
                         }
                     }
                 } catch (Exception e) {
-                    System.out.println("Error checking overlapping elements: " + e.getMessage());
+                    LOG.warn("Error checking overlapping elements: " + e.getMessage());
                 }
+            }
+            
+            // Click the add to cart button
+            try {
+                // First try regular click
+                clickElement(addToCartButton);
+                LOG.info("Regular click successful");
+            } catch (Exception e) {
+                LOG.warn("Regular click failed: " + e.getMessage());
                 
-                // Click the add to cart button
+                // Try JavaScript click
                 try {
-                    // First try regular click
-                    addToCartButton.click();
-                    System.out.println("Regular click successful");
-                } catch (Exception e) {
-                    System.out.println("Regular click failed: " + e.getMessage());
+                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", addToCartButton);
+                    LOG.info("JavaScript click successful");
+                } catch (Exception jsError) {
+                    LOG.warn("JavaScript click failed: " + jsError.getMessage());
                     
-                    // Try JavaScript click
+                    // Try Actions click
                     try {
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", addToCartButton);
-                        System.out.println("JavaScript click successful");
-                    } catch (Exception jsError) {
-                        System.out.println("JavaScript click failed: " + jsError.getMessage());
-                        
-                        // Try Actions click
-                        try {
-                            org.openqa.selenium.interactions.Actions actions = new org.openqa.selenium.interactions.Actions(driver);
-                            actions.moveToElement(addToCartButton).click().perform();
-                            System.out.println("Actions click successful");
-                        } catch (Exception actionsError) {
-                            System.out.println("Actions click failed: " + actionsError.getMessage());
-                            throw new RuntimeException("All click methods failed");
-                        }
+                        org.openqa.selenium.interactions.Actions actions = new org.openqa.selenium.interactions.Actions(driver);
+                        actions.moveToElement(addToCartButton).click().perform();
+                        LOG.info("Actions click successful");
+                    } catch (Exception actionsError) {
+                        LOG.warn("Actions click failed: " + actionsError.getMessage());
+                        throw new RuntimeException("All click methods failed");
                     }
                 }
-                
-                System.out.println("Adding product at index " + index + " to cart...");
-                
-                // Wait for cart counter to update
-                waitForCartCounterUpdate();
-                
-                System.out.println("Product at index " + index + " added to cart successfully");
-            } else {
-                System.out.println("Invalid index: " + index + ". Available products: " + addToCartButtons.size());
             }
+            
+            LOG.info("Adding product at index " + index + " to cart...");
+            
+            // Wait for cart counter to update
+            waitForCartCounterUpdate(counterBefore);
+            
+            LOG.info("Product at index " + index + " added to cart successfully");
         } catch (Exception e) {
-            System.out.println("Error adding product at index " + index + " to cart: " + e.getMessage());
+            LOG.warn("Error adding product at index " + index + " to cart: " + e.getMessage());
         }
     }
 
     // Method to wait for cart counter to update
-    private void waitForCartCounterUpdate() {
+    private void waitForCartCounterUpdate(String counterBefore) {
         try {
-            // Wait for cart counter to appear and update
-            Thread.sleep(3000);
-            
-            // Check if cart counter is visible and shows "1 Adet" or similar
-            if (cartCounter.isDisplayed()) {
-                String counterText = getText(cartCounter);
-                System.out.println("Cart counter updated: " + counterText);
-            }
+            // Wait for cart counter to appear with a value different from before the click
+            String counterText = waitFor(Condition.of("cart counter change", d -> {
+                String text = nonEmptyText(cartCounter).apply(d);
+                return text != null && !text.equals(counterBefore) ? text : null;
+            }), DEFAULT_TIMEOUT);
+            LOG.info("Cart counter updated: " + counterText);
         } catch (Exception e) {
-            System.out.println("Error waiting for cart counter update: " + e.getMessage());
+            LOG.warn("Error waiting for cart counter update: " + e.getMessage());
+        }
+    }
+
+    // Current cart counter text, or empty if the counter is not shown yet
+    private String currentCartCounterText() {
+        try {
+            return cartCounter.isDisplayed() ? cartCounter.getText().trim() : "";
+        } catch (Exception e) {
+            return "";
         }
     }
 
     // Method to get current cart counter text
     public String getCartCounterText() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.visibilityOf(cartCounter));
-            return cartCounter.getText();
+            return waitFor(visible(cartCounter)).getText();
         } catch (Exception e) {
-            System.out.println("Error getting cart counter text: " + e.getMessage());
+            LOG.warn("Error getting cart counter text: " + e.getMessage());
             return "0";
         }
     }
@@ -309,47 +457,62 @@ public class SearchResultsPage extends BasePage {
     // Method to get basket item count
     public String getBasketItemCount() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.visibilityOf(basketItemCountContainer));
-            return basketItemCountContainer.getText();
+            return waitFor(visible(basketItemCountContainer)).getText();
         } catch (Exception e) {
-            System.out.println("Error getting basket item count: " + e.getMessage());
+            LOG.warn("Error getting basket item count: " + e.getMessage());
             return "0";
         }
     }
 
-    // Method to get number of add to cart buttons available
-    public int getAddToCartButtonCount() {
+    // Indexes in getProductCards() of the cards that show an add to basket button; callers pick
+    // from these so an index still names the same card for names, prices and buttons
+    public List<Integer> getAddableProductIndexes() {
+        List<Integer> indexes = new ArrayList<>();
         try {
-            return addToCartButtons.size();
+            for (ProductCard card : getProductCards()) {
+                if (card.isAddToBasketAvailable()) {
+                    indexes.add(card.getIndex());
+                }
+            }
         } catch (Exception e) {
-            System.out.println("Error getting add to cart button count: " + e.getMessage());
-            return 0;
+            LOG.warn("Error reading addable products: " + e.getMessage());
         }
+        return indexes;
+    }
+
+    // Number of product cards with an add to basket button
+    public int getAddToCartButtonCount() {
+        return getAddableProductIndexes().size();
     }
 
     // Method to check if search results are displayed
     public boolean isSearchResultsDisplayed() {
         try {
+            // Wait for the results page to settle and render its add to cart buttons
+            invalidateProductCards();
+            Deadline deadline = Deadline.after(RESULTS_TIMEOUT);
+            awaitPageSettled(deadline);
+            waitUntil(present(addToCartButtons), deadline);
+            
             // Check if we have add to cart buttons (indicating products are displayed)
             int buttonCount = getAddToCartButtonCount();
             if (buttonCount > 0) {
-                System.out.println("Search results displayed with " + buttonCount + " products");
+                LOG.info("Search results displayed with " + buttonCount + " products");
                 return true;
             }
             
             // Alternative check: look for product elements
             List<WebElement> productElements = driver.findElements(By.cssSelector("div[class*='product'], div[class*='card'], div[class*='item']"));
             if (productElements.size() > 0) {
-                System.out.println("Search results displayed with " + productElements.size() + " product elements");
+                LOG.info("Search results displayed with " + productElements.size() + " product elements");
                 return true;
             }
             
-            System.out.println("No search results found");
+            LOG.info("No search results found");
             return false;
             
         } catch (Exception e) {
-            System.out.println("Error checking search results: " + e.getMessage());
+            LOG.warn("Error checking search results: " + e.getMessage());
             return false;
         }
     }
@@ -363,8 +526,8 @@ public class SearchResultsPage extends BasePage {
                 // Clear the input and move focus away
                 searchInput.clear();
                 searchInput.sendKeys(Keys.TAB); // Move focus away
-                Thread.sleep(500);
-                System.out.println("Search input field cleared and focus moved");
+                waitUntil(Condition.not(focused(searchInput)), SHORT_TIMEOUT);
+                LOG.info("Search input field cleared and focus moved");
             }
         } catch (Exception e) {
             // Search input not found or already closed
@@ -374,11 +537,12 @@ public class SearchResultsPage extends BasePage {
     // Method to get product name at specific index
     public String getProductNameAtIndex(int index) {
         try {
-            if (index < productNames.size()) {
-                return getText(productNames.get(index));
+            List<ProductCard> cards = getProductCards();
+            if (index >= 0 && index < cards.size()) {
+                return cards.get(index).getName();
             }
         } catch (Exception e) {
-            System.out.println("Error getting product name at index " + index + ": " + e.getMessage());
+            LOG.warn("Error getting product name at index " + index + ": " + e.getMessage());
         }
         return "";
     }
@@ -386,11 +550,12 @@ public class SearchResultsPage extends BasePage {
     // Method to get product price at specific index
     public String getProductPriceAtIndex(int index) {
         try {
-            if (index < productPrices.size()) {
-                return getText(productPrices.get(index));
+            List<ProductCard> cards = getProductCards();
+            if (index >= 0 && index < cards.size()) {
+                return cards.get(index).getPriceText();
             }
         } catch (Exception e) {
-            System.out.println("Error getting product price at index " + index + ": " + e.getMessage());
+            LOG.warn("Error getting product price at index " + index + ": " + e.getMessage());
         }
         return "";
     }
@@ -0,0 +1,241 @@
+package com.trendyol.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.json.Json;
+import utils.BrowserDevTools;
+import utils.Logger;
+import utils.SiteUrls;
+import utils.TestConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Gets the cookie consent and language popups out of the way once per run instead of once per
+ * scenario.
+ *
+ * <p>The first scenario's browser opens the home page, dismisses the popups and keeps the
+ * cookies and localStorage entries that dismissing them created or changed. Cookies that were
+ * already there after the plain page load (the anonymous session, the basket) and HttpOnly
+ * cookies are not kept, so scenarios never share server-side state. Every later session gets the kept state before its
+ * first navigation: cookies through {@code Network.setCookies}, localStorage through a script
+ * that runs ahead of the page's own.
+ *
+ * <p>Needs DevTools; without it, with {@code -Dsession.bootstrap=false}, or when dismissing the
+ * popups left nothing to keep, the page objects dismiss the popups themselves as before. Either
+ * way a click that a popup intercepts dismisses it and retries (see {@code BasePage.clickElement}).
+ */
+public final class SessionBootstrap {
+
+    private static final Logger LOG = Logger.get(SessionBootstrap.class);
+
+    private static final boolean ENABLED = TestConfig.getBoolean("session.bootstrap", true);
+
+    // Fields Network.setCookies accepts from a Network.getAllCookies entry
+    private static final List<String> COOKIE_FIELDS = Arrays.asList(
+        "name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "priority");
+
+    private static final String LOCAL_STORAGE_SCRIPT =
+        "var state = {};"
+        + "try { for (var i = 0; i < localStorage.length; i++) {"
+        + "  var key = localStorage.key(i); state[key] = localStorage.getItem(key); } } catch (e) {}"
+        + "return { origin: location.origin, entries: state };";
+
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(15);
+
+    // Browsers that have the localStorage script installed
+    private static final Set<WebDriver> PREPARED = Collections.newSetFromMap(new WeakHashMap<>());
+    // Whether each browser's current scenario started with the captured state
+    private static final Map<WebDriver, Boolean> APPLIED = new WeakHashMap<>();
+
+    // null until captured; empty lists when the popups left nothing worth keeping
+    private static State state;
+
+    private SessionBootstrap() {
+    }
+
+    /**
+     * Gives {@code driver} the consent and language state before the scenario's first
+     * navigation, capturing it first if this is the run's first session. Returns false when the
+     * state could not be applied, in which case the page objects handle the popups themselves.
+     */
+    public static boolean apply(WebDriver driver) {
+        if (!ENABLED || !BrowserDevTools.of(driver).isAvailable()) {
+            return false;
+        }
+        State captured;
+        synchronized (SessionBootstrap.class) {
+            if (state == null) {
+                state = capture(driver);
+            }
+            captured = state;
+        }
+        if (!captured.isUsable()) {
+            markApplied(driver, false);
+            return false;
+        }
+        try {
+            BrowserDevTools devTools = BrowserDevTools.of(driver);
+            if (!captured.cookies.isEmpty()) {
+                devTools.send("Network.setCookies", Collections.<String, Object>singletonMap("cookies", captured.cookies));
+            }
+            boolean install;
+            synchronized (PREPARED) {
+                install = PREPARED.add(driver);
+            }
+            if (install && !captured.localStorage.isEmpty()) {
+                String script = captured.localStorageScript();
+                devTools.install("session-bootstrap", tools ->
+                    tools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument",
+                        Collections.<String, Object>singletonMap("source", script))));
+            }
+            markApplied(driver, true);
+            return true;
+        } catch (Exception e) {
+            LOG.warn("Could not apply the bootstrapped session state: " + e.getMessage());
+            markApplied(driver, false);
+            return false;
+        }
+    }
+
+    /**
+     * True when {@code driver}'s current scenario started with the bootstrapped state.
+     */
+    static boolean isApplied(WebDriver driver) {
+        synchronized (APPLIED) {
+            return Boolean.TRUE.equals(APPLIED.get(driver));
+        }
+    }
+
+    private static void markApplied(WebDriver driver, boolean applied) {
+        synchronized (APPLIED) {
+            APPLIED.put(driver, applied);
+        }
+    }
+
+    private static State capture(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            BrowserDevTools devTools = BrowserDevTools.of(driver);
+            HomePage homePage = new HomePage(driver);
+            driver.get(SiteUrls.of("/"));
+            homePage.awaitPageSettled(Deadline.after(SETTLE_TIMEOUT));
+            Map<String, Map<?, ?>> cookiesBefore = cookies(devTools);
+            Map<?, ?> storageBefore = localStorage(driver);
+
+            homePage.acceptCookiesIfPresent();
+            homePage.clickLanguageButtonIfPresent();
+
+            List<Map<String, Object>> cookies = new ArrayList<>();
+            for (Map.Entry<String, Map<?, ?>> entry : cookies(devTools).entrySet()) {
+                Map<?, ?> before = cookiesBefore.get(entry.getKey());
+                // Consent and language cookies are written by page scripts; an HttpOnly cookie
+                // can only come from the server and may carry a session
+                if (Boolean.TRUE.equals(entry.getValue().get("httpOnly"))) {
+                    continue;
+                }
+                if (before == null || !String.valueOf(before.get("value")).equals(String.valueOf(entry.getValue().get("value")))) {
+                    cookies.add(cookieParam(entry.getValue()));
+                }
+            }
+            Map<?, ?> storageAfter = localStorage(driver);
+            Map<String, String> entries = new LinkedHashMap<>();
+            Map<?, ?> after = (Map<?, ?>) storageAfter.get("entries");
+            Map<?, ?> previous = (Map<?, ?>) storageBefore.get("entries");
+            if (after != null) {
+                for (Map.Entry<?, ?> entry : after.entrySet()) {
+                    if (previous == null || !String.valueOf(entry.getValue()).equals(String.valueOf(previous.get(entry.getKey())))) {
+                        entries.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+                    }
+                }
+            }
+            State captured = new State(cookies, String.valueOf(storageAfter.get("origin")), entries);
+            if (!captured.isUsable()) {
+                LOG.info("The popups left no cookies or localStorage to keep, they are dismissed per scenario");
+                return captured;
+            }
+            LOG.info("Bootstrapped session state in " + (System.nanoTime() - start) / 1_000_000 + " ms: "
+                + cookies.size() + " cookies, " + entries.size() + " localStorage entries");
+            return captured;
+        } catch (Exception e) {
+            LOG.warn("Could not bootstrap the session state, popups are handled per scenario: " + e.getMessage());
+            return State.UNUSABLE;
+        }
+    }
+
+    // name|domain|path -> cookie as Network.getAllCookies returns it
+    private static Map<String, Map<?, ?>> cookies(BrowserDevTools devTools) {
+        Map<String, Map<?, ?>> cookies = new HashMap<>();
+        Object all = devTools.send("Network.getAllCookies", Collections.emptyMap()).get("cookies");
+        if (all instanceof List) {
+            for (Object cookie : (List<?>) all) {
+                Map<?, ?> map = (Map<?, ?>) cookie;
+                cookies.put(map.get("name") + "|" + map.get("domain") + "|" + map.get("path"), map);
+            }
+        }
+        return cookies;
+    }
+
+    private static Map<String, Object> cookieParam(Map<?, ?> cookie) {
+        Map<String, Object> param = new LinkedHashMap<>();
+        for (String field : COOKIE_FIELDS) {
+            if (cookie.get(field) != null) {
+                param.put(field, cookie.get(field));
+            }
+        }
+        // Session cookies report expires -1; setCookies wants the field left out for them
+        Object expires = cookie.get("expires");
+        if (!Boolean.TRUE.equals(cookie.get("session")) && expires instanceof Number && ((Number) expires).doubleValue() > 0) {
+            param.put("expires", expires);
+        }
+        return param;
+    }
+
+    private static Map<?, ?> localStorage(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(LOCAL_STORAGE_SCRIPT);
+        return result instanceof Map ? (Map<?, ?>) result : Collections.emptyMap();
+    }
+
+    /**
+     * What the popups left behind in the first session.
+     */
+    private static final class State {
+        static final State UNUSABLE = new State(null, null, null);
+
+        private final List<Map<String, Object>> cookies;
+        private final String origin;
+        private final Map<String, String> localStorage;
+
+        State(List<Map<String, Object>> cookies, String origin, Map<String, String> localStorage) {
+            this.cookies = cookies;
+            this.origin = origin;
+            this.localStorage = localStorage;
+        }
+
+        // A capture that found nothing to keep cannot stand in for dismissing the popups
+        boolean isUsable() {
+            return cookies != null && (!cookies.isEmpty() || !localStorage.isEmpty());
+        }
+
+        // Fills in the entries on the site's origin unless the page already has them
+        String localStorageScript() {
+            Json json = new Json();
+            return "(function () {"
+                + "  if (location.origin !== " + json.toJson(origin) + ") { return; }"
+                + "  var entries = " + json.toJson(localStorage) + ";"
+                + "  try { for (var key in entries) {"
+                + "    if (localStorage.getItem(key) === null) { localStorage.setItem(key, entries[key]); } } } catch (e) {}"
+                + "})();";
+        }
+    }
+}
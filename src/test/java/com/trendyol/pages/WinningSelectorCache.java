@@ -0,0 +1,112 @@
+package com.trendyol.pages;
+
+import utils.TestConfig;
+import utils.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which selector of a {@link FallbackLocator} matched last time, per page and
+ * element, and keeps that knowledge on disk between runs
+ * ({@code locator.cache.file}, default {@code .cache/locator-cache.properties}).
+ */
+final class WinningSelectorCache {
+
+    private static final Logger LOG = Logger.get(WinningSelectorCache.class);
+
+    private static final WinningSelectorCache INSTANCE = new WinningSelectorCache(
+        Paths.get(TestConfig.getString("locator.cache.file", ".cache/locator-cache.properties")));
+
+    private final Path file;
+    private final Map<String, String> winners = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private WinningSelectorCache(Path file) {
+        this.file = file;
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::save, "locator-cache-save"));
+    }
+
+    static WinningSelectorCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns {@code selectors} with the last known winner for {@code key} moved to the front.
+     */
+    List<String> order(String key, List<String> selectors) {
+        String winner = winners.get(key);
+        if (winner == null || selectors.isEmpty() || selectors.get(0).equals(winner) || !selectors.contains(winner)) {
+            return selectors;
+        }
+        List<String> ordered = new ArrayList<>(selectors.size());
+        ordered.add(winner);
+        for (String selector : selectors) {
+            if (!selector.equals(winner)) {
+                ordered.add(selector);
+            }
+        }
+        return ordered;
+    }
+
+    void recordWinner(String key, String selector) {
+        if (!selector.equals(winners.put(key, selector))) {
+            dirty = true;
+        }
+    }
+
+    void forgetWinner(String key, String selector) {
+        if (winners.remove(key, selector)) {
+            dirty = true;
+            LOG.info("Forgot cached selector for " + key + ": " + selector);
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            for (String key : properties.stringPropertyNames()) {
+                winners.put(key, properties.getProperty(key));
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read locator cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void save() {
+        if (!dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.putAll(new TreeMap<>(winners));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "locator-cache", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Winning fallback selectors per page element");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            LOG.warn("Could not write locator cache " + file + ": " + e.getMessage());
+        }
+    }
+}
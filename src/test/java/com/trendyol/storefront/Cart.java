@@ -0,0 +1,86 @@
+package com.trendyol.storefront;
+
+import utils.Money;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Basket of one browser session of the local storefront. Shipping is charged below the free
+ * shipping limit and shown as a promotion above it, like on the live site.
+ */
+final class Cart {
+
+    static final Money SHIPPING = Money.parse("34,99");
+    static final Money FREE_SHIPPING_LIMIT = Money.ofLira(500);
+
+    // product id -> quantity, in the order the products were added
+    private final Map<String, Integer> quantities = new LinkedHashMap<>();
+
+    synchronized void add(Catalog.Product product) {
+        quantities.merge(product.getId(), 1, Integer::sum);
+    }
+
+    synchronized void remove(String productId) {
+        quantities.remove(productId);
+    }
+
+    synchronized int getItemCount() {
+        int count = 0;
+        for (int quantity : quantities.values()) {
+            count += quantity;
+        }
+        return count;
+    }
+
+    synchronized List<Line> getLines() {
+        List<Line> lines = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            lines.add(new Line(Catalog.byId(entry.getKey()), entry.getValue()));
+        }
+        return lines;
+    }
+
+    synchronized Money getProductsTotal() {
+        Money total = Money.ZERO;
+        for (Line line : getLines()) {
+            total = total.plus(line.getTotal());
+        }
+        return total;
+    }
+
+    synchronized boolean hasFreeShipping() {
+        return getProductsTotal().compareTo(FREE_SHIPPING_LIMIT) >= 0;
+    }
+
+    /**
+     * What the customer pays: products plus shipping, minus the shipping promotion.
+     */
+    synchronized Money getFinalTotal() {
+        return hasFreeShipping() ? getProductsTotal() : getProductsTotal().plus(SHIPPING);
+    }
+
+    static final class Line {
+        private final Catalog.Product product;
+        private final int quantity;
+
+        Line(Catalog.Product product, int quantity) {
+            this.product = product;
+            this.quantity = quantity;
+        }
+
+        Catalog.Product getProduct() {
+            return product;
+        }
+
+        int getQuantity() {
+            return quantity;
+        }
+
+        Money getTotal() {
+            return product.getPrice().times(quantity);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.trendyol.storefront;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import utils.Logger;
+import utils.SiteUrls;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fills the browser's cart over HTTP instead of clicking through the search results. Requests
+ * carry the browser's own cookies, so the products land in the same session's basket the cart
+ * page shows; a session cookie the server hands out on the way is copied back into the browser.
+ *
+ * <p>Talks to the basket API of the local storefront ({@code POST /api/basket/add}, form body
+ * {@code id=<product id>}). The live site has no public equivalent, so callers check
+ * {@link #isSupported()} and add through the UI otherwise.
+ */
+public final class CartSeeder {
+
+    private static final Logger LOG = Logger.get(CartSeeder.class);
+
+    private static final Pattern PRODUCT_LINK = Pattern.compile("href=\"/p/([^\"?#]+)\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebDriver driver;
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+
+    public CartSeeder(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * True when the configured site exposes the basket API this class calls.
+     */
+    public static boolean isSupported() {
+        return SiteUrls.isLocalStorefront();
+    }
+
+    /**
+     * Adds the first {@code count} distinct products found for {@code query} to the browser
+     * session's cart and returns their ids. The browser has to be on the site already, since
+     * only that origin's cookies are visible to WebDriver.
+     *
+     * @throws IllegalStateException if the search has fewer products or a call fails
+     */
+    public List<String> seed(String query, int count) {
+        long start = System.nanoTime();
+        String encoded = URLEncoder.encode(query, StandardCharsets.UTF_8).replace("+", "%20");
+        HttpResponse<String> search = send(HttpRequest.newBuilder(URI.create(SiteUrls.of("/sr?q=" + encoded))).GET());
+        expectOk(search, "search for '" + query + "'");
+
+        Set<String> found = new LinkedHashSet<>();
+        Matcher matcher = PRODUCT_LINK.matcher(search.body());
+        while (matcher.find() && found.size() < count) {
+            found.add(matcher.group(1));
+        }
+        if (found.size() < count) {
+            throw new IllegalStateException("Search for '" + query + "' has " + found.size()
+                + " products, cannot seed " + count);
+        }
+
+        List<String> added = new ArrayList<>();
+        for (String id : found) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(SiteUrls.of("/api/basket/add")))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("id=" + URLEncoder.encode(id, StandardCharsets.UTF_8))));
+            expectOk(response, "add product " + id);
+            added.add(id);
+            LOG.debug(() -> "Seeded product " + id + ": " + response.body());
+        }
+        LOG.info("Seeded " + added.size() + " products from '" + query + "' into the cart in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return added;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) {
+        String cookies = cookieHeader();
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", cookies);
+        }
+        try {
+            HttpResponse<String> response = client.send(request.timeout(TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            adoptCookies(response);
+            return response;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cart seeding request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding the cart", e);
+        }
+    }
+
+    // WebDriver's cookie list includes HttpOnly ones, which is where the session usually lives
+    private String cookieHeader() {
+        StringJoiner header = new StringJoiner("; ");
+        for (Cookie cookie : driver.manage().getCookies()) {
+            header.add(cookie.getName() + "=" + cookie.getValue());
+        }
+        return header.toString();
+    }
+
+    // Keeps the browser on the session the requests used, e.g. when it had no cookie yet
+    private void adoptCookies(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            for (HttpCookie cookie : HttpCookie.parse(header)) {
+                Cookie existing = driver.manage().getCookieNamed(cookie.getName());
+                if (existing == null || !existing.getValue().equals(cookie.getValue())) {
+                    driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                        .path(cookie.getPath() == null ? "/" : cookie.getPath())
+                        .isHttpOnly(cookie.isHttpOnly())
+                        .build());
+                }
+            }
+        }
+    }
+
+    private static void expectOk(HttpResponse<String> response, String what) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not " + what + " while seeding the cart: HTTP "
+                + response.statusCode() + " " + response.body());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.trendyol.storefront;
+
+import utils.Money;
+import utils.TurkishText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed product list the local storefront sells. Wireless headphones for the existing
+ * scenarios, a few other products so search has something to filter out.
+ */
+final class Catalog {
+
+    private static final Map<String, Product> PRODUCTS = new LinkedHashMap<>();
+
+    static {
+        String[][] headphones = {
+            {"JBL", "Tune 520BT Kablosuz Kulaklık Bluetooth 5.3 Mikrofonlu", "1.899,00"},
+            {"Sony", "WH-CH520 Kablosuz Kulak Üstü Kulaklık", "1.749,90"},
+            {"Xiaomi", "Redmi Buds 4 Active Kablosuz Kulaklık", "599,90"},
+            {"Philips", "TAH4209 Kablosuz Kulak Üstü Kulaklık", "1.299,90"},
+            {"Lenovo", "LP40 Pro TWS Kablosuz Kulaklık", "349,90"},
+            {"Anker", "Soundcore Life Q30 Gürültü Engelleyici Kablosuz Kulaklık", "2.899,00"},
+            {"Baseus", "Bowie E13 Kablosuz Kulaklık Bluetooth 5.3", "649,00"},
+            {"Samsung", "Galaxy Buds FE Kablosuz Kulaklık Grafit", "2.499,00"},
+            {"Apple", "AirPods (3. Nesil) Kablosuz Kulaklık", "6.499,00"},
+            {"Huawei", "FreeBuds SE 2 Kablosuz Kulaklık Beyaz", "999,00"},
+            {"Realme", "Buds T110 Kablosuz Kulaklık Siyah", "749,90"},
+            {"Haylou", "GT7 Neo Kablosuz Kulaklık", "459,90"},
+            {"TrkTech", "Kablosuz Kulaklık Bluetooth Kulak İçi Dokunmatik", "289,90"},
+            {"Hytech", "HY-XBK30 Kablosuz Kulak Üstü Kulaklık", "399,90"},
+            {"Snopy", "SN-BT55 Kablosuz Kulaklık Mikrofonlu", "319,90"},
+            {"Marshall", "Major IV Kablosuz Kulaklık Siyah", "5.999,00"},
+            {"Edifier", "W820NB Plus Kablosuz Kulaklık", "2.199,00"},
+            {"QCY", "T13 ANC Kablosuz Kulaklık", "529,90"},
+            {"Soundpeats", "Air3 Deluxe HS Kablosuz Kulaklık", "1.149,00"},
+            {"Jabra", "Elite 4 Active Kablosuz Kulaklık", "3.299,00"},
+            {"Sennheiser", "Accentum Kablosuz Kulaklık", "4.599,00"},
+            {"Audio-Technica", "ATH-S220BT Kablosuz Kulaklık", "1.599,00"},
+            {"Honor", "Choice Earbuds X5 Kablosuz Kulaklık", "849,00"},
+            {"Oppo", "Enco Buds 2 Kablosuz Kulaklık", "899,90"},
+        };
+        String[][] others = {
+            {"TrkTech", "iPhone 15 Uyumlu Şeffaf Telefon Kılıfı", "149,90"},
+            {"Anker", "PowerCore 10000 mAh Taşınabilir Şarj Cihazı", "899,00"},
+            {"Logitech", "M185 Kablosuz Mouse Gri", "449,90"},
+            {"Philips", "Kablolu Kulak İçi Kulaklık TAE1105", "199,90"},
+        };
+        int id = 1000;
+        for (String[] product : headphones) {
+            add(new Product(String.valueOf(id++), product[0], product[1], Money.parse(product[2])));
+        }
+        for (String[] product : others) {
+            add(new Product(String.valueOf(id++), product[0], product[1], Money.parse(product[2])));
+        }
+    }
+
+    private Catalog() {
+    }
+
+    private static void add(Product product) {
+        PRODUCTS.put(product.getId(), product);
+    }
+
+    static Product byId(String id) {
+        return PRODUCTS.get(id);
+    }
+
+    /**
+     * Products whose name contains every word of {@code query}, Turkish-insensitive like the
+     * page objects' keyword check ("kulaklik" finds "Kulaklık").
+     */
+    static List<Product> search(String query) {
+        List<String> words = new ArrayList<>(Arrays.asList(TurkishText.normalize(query).trim().split("\\s+")));
+        words.remove("");
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Product> results = new ArrayList<>();
+        for (Product product : PRODUCTS.values()) {
+            String name = TurkishText.normalize(product.getName());
+            boolean all = true;
+            for (String word : words) {
+                all &= name.contains(word);
+            }
+            if (all) {
+                results.add(product);
+            }
+        }
+        return results;
+    }
+
+    static final class Product {
+        private final String id;
+        private final String brand;
+        private final String title;
+        private final Money price;
+
+        Product(String id, String brand, String title, Money price) {
+            this.id = id;
+            this.brand = brand;
+            this.title = title;
+            this.price = price;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        String getBrand() {
+            return brand;
+        }
+
+        String getTitle() {
+            return title;
+        }
+
+        // Brand and title, as the product page heading and the cart line show it
+        String getName() {
+            return brand + " " + title;
+        }
+
+        Money getPrice() {
+            return price;
+        }
+    }
+}
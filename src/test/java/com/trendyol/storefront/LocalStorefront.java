@@ -0,0 +1,203 @@
+package com.trendyol.storefront;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import utils.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for www.trendyol.com: home page, search ({@code /sr?q=}), product detail
+ * ({@code /p/<id>}), cart ({@code /sepet}, {@code /sepetim}) and the basket API the pages call.
+ * Each browser gets its own cart through a session cookie, so parallel scenarios (and a reset
+ * browser, which loses its cookies) never see each other's baskets.
+ *
+ * <p>Started on first use on a free loopback port and stopped when the JVM exits. Selected with
+ * {@code -Dtrendyol.baseUrl=local} (see {@link utils.SiteUrls}).
+ */
+public final class LocalStorefront {
+
+    private static final Logger LOG = Logger.get(LocalStorefront.class);
+
+    private static final String SESSION_COOKIE = "sid";
+    private static final String CONSENT_COOKIE = "OptanonAlertBoxClosed";
+
+    private static LocalStorefront instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Cart> carts = new ConcurrentHashMap<>();
+
+    private LocalStorefront() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-storefront");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        // The dispatcher thread takes its daemon flag from the thread that starts the server;
+        // started from here it would keep the JVM alive after the last test
+        Thread starter = new Thread(server::start, "local-storefront-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while starting the local storefront", e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "local-storefront-stop"));
+    }
+
+    /**
+     * Returns the running storefront, starting it on the first call.
+     */
+    public static synchronized LocalStorefront start() {
+        if (instance == null) {
+            try {
+                instance = new LocalStorefront();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start the local storefront", e);
+            }
+            LOG.info("Local storefront listening on " + instance.getBaseUrl());
+        }
+        return instance;
+    }
+
+    /**
+     * Base URL without a trailing slash, e.g. {@code http://127.0.0.1:51234}.
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    private void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> cookies = cookies(exchange);
+            String session = cookies.get(SESSION_COOKIE);
+            if (session == null) {
+                session = UUID.randomUUID().toString();
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session + "; Path=/; HttpOnly");
+            }
+            Cart cart = carts.computeIfAbsent(session, key -> new Cart());
+
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parameters(exchange.getRequestURI().getRawQuery());
+            if (path.equals("/")) {
+                html(exchange, 200, StorefrontPages.home(!cookies.containsKey(CONSENT_COOKIE), cart.getItemCount()));
+            } else if (path.equals("/sr")) {
+                String q = query.getOrDefault("q", "");
+                html(exchange, 200, StorefrontPages.searchResults(q, Catalog.search(q), cart.getItemCount()));
+            } else if (path.startsWith("/p/") && Catalog.byId(path.substring(3)) != null) {
+                html(exchange, 200, StorefrontPages.product(Catalog.byId(path.substring(3)), cart.getItemCount()));
+            } else if (path.equals("/sepet") || path.equals("/sepetim")) {
+                html(exchange, 200, StorefrontPages.cart(cart));
+            } else if (path.startsWith("/api/basket/") && "POST".equals(exchange.getRequestMethod())) {
+                basket(exchange, path.substring("/api/basket/".length()), cart);
+            } else {
+                html(exchange, 404, StorefrontPages.notFound());
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Local storefront failed on " + exchange.getRequestURI(), e);
+            send(exchange, 500, "text/plain", "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void basket(HttpExchange exchange, String action, Cart cart) throws IOException {
+        String id;
+        try (InputStream body = exchange.getRequestBody()) {
+            id = parameters(new String(body.readAllBytes(), StandardCharsets.UTF_8)).get("id");
+        }
+        Catalog.Product product = id == null ? null : Catalog.byId(id);
+        if (product == null) {
+            send(exchange, 400, "application/json", "{\"error\":\"unknown product\"}");
+            return;
+        }
+        if (action.equals("add")) {
+            cart.add(product);
+        } else if (action.equals("remove")) {
+            cart.remove(product.getId());
+        } else {
+            send(exchange, 404, "application/json", "{\"error\":\"unknown action\"}");
+            return;
+        }
+        send(exchange, 200, "application/json", "{\"count\":" + cart.getItemCount() + "}");
+    }
+
+    private static void html(HttpExchange exchange, int status, String html) throws IOException {
+        send(exchange, status, "text/html; charset=utf-8", html);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> cookies(HttpExchange exchange) {
+        List<String> headers = exchange.getRequestHeaders().get("Cookie");
+        if (headers == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> cookies = new HashMap<>();
+        for (String header : headers) {
+            for (String cookie : header.split(";")) {
+                int equals = cookie.indexOf('=');
+                if (equals > 0) {
+                    cookies.put(cookie.substring(0, equals).trim(), cookie.substring(equals + 1).trim());
+                }
+            }
+        }
+        return cookies;
+    }
+
+    private static Map<String, String> parameters(String encoded) {
+        Map<String, String> parameters = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : encoded.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals >= 0 ? pair.substring(0, equals) : pair;
+            String value = equals >= 0 ? pair.substring(equals + 1) : "";
+            parameters.put(decode(name), decode(value));
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.trendyol.storefront;
+
+import java.util.List;
+
+/**
+ * HTML of the local storefront. The markup is trimmed down to what the page objects use, with
+ * the same class names, test ids and texts as the live site, so the selectors in
+ * {@code com.trendyol.pages} work unchanged. Everything is inline: the pages load no external
+ * script, style, font or image.
+ */
+final class StorefrontPages {
+
+    private static final String STYLE =
+        "body{font-family:sans-serif;margin:0}"
+        + "header{display:flex;gap:16px;align-items:center;padding:12px 24px;border-bottom:1px solid #ddd}"
+        + "header form{flex:1}header input{width:100%;padding:8px}"
+        + ".basket-item-count-container{display:none;background:#f27a1a;color:#fff;border-radius:8px;padding:0 6px}"
+        + ".basket-item-count-container.visible{display:inline-block}"
+        + "main{padding:24px}"
+        + ".prdct-cntnr-wrppr{display:flex;flex-wrap:wrap;gap:16px}"
+        + ".p-card-wrppr{width:220px;border:1px solid #eee;padding:8px}"
+        + ".p-card-wrppr a{color:inherit;text-decoration:none;display:block}"
+        + ".price-item,.discounted{color:#f27a1a;font-weight:bold}"
+        + "#cookie-banner{position:fixed;bottom:0;left:0;right:0;background:#333;color:#fff;padding:16px}"
+        + ".pb-basket-item{display:flex;gap:16px;align-items:center;border-bottom:1px solid #eee;padding:8px 0}"
+        + ".pb-summary li{list-style:none;display:flex;justify-content:space-between;width:300px}";
+
+    // Basket API calls; the server answers with the new item count for the header
+    private static final String SCRIPT =
+        "function setBasketCount(n) {"
+        + "  document.querySelectorAll('.basket-item-count-container').forEach(function (c) {"
+        + "    c.classList.toggle('visible', n > 0);"
+        + "    c.querySelector('.bs-counter-text').textContent = n;"
+        + "  });"
+        + "}"
+        + "function basket(action, id) {"
+        + "  return fetch('/api/basket/' + action, {method: 'POST',"
+        + "    headers: {'Content-Type': 'application/x-www-form-urlencoded'}, body: 'id=' + encodeURIComponent(id)})"
+        + "    .then(function (r) { return r.json(); })"
+        + "    .then(function (b) { setBasketCount(b.count); return b; });"
+        + "}";
+
+    private StorefrontPages() {
+    }
+
+    static String home(boolean showCookieBanner, int basketCount) {
+        StringBuilder body = new StringBuilder();
+        body.append("<main><h2>Sana Özel Ürünler</h2><p>Kampanyalar, indirimler ve daha fazlası.</p></main>");
+        if (showCookieBanner) {
+            body.append("<div id=\"cookie-banner\" data-testid=\"cookie-banner\">")
+                .append("Deneyiminizi iyileştirmek için çerezler kullanıyoruz. ")
+                .append("<button id=\"onetrust-accept-btn-handler\" onclick=\"")
+                .append("document.cookie='OptanonAlertBoxClosed=1; path=/';")
+                .append("document.getElementById('cookie-banner').remove();\">Tümünü Kabul Et</button></div>");
+        }
+        return page("Trendyol - En Trend Ürünler", "", basketCount, body);
+    }
+
+    static String searchResults(String query, List<Catalog.Product> products, int basketCount) {
+        StringBuilder body = new StringBuilder("<main>");
+        body.append("<div class=\"srch-rslt-title\">\"").append(escape(query)).append("\" araması için ")
+            .append(products.size()).append(" sonuç listeleniyor</div>");
+        if (products.isEmpty()) {
+            body.append("<div class=\"no-rslt-text-wrapper\">Aradığınız ürün bulunamadı.</div>");
+        }
+        body.append("<div class=\"prdct-cntnr-wrppr\">");
+        for (Catalog.Product product : products) {
+            body.append("<div class=\"p-card-wrppr\" data-id=\"").append(product.getId()).append("\">")
+                .append("<a href=\"/p/").append(product.getId()).append("\" target=\"_blank\">")
+                .append("<div class=\"prdct-desc-cntnr\"><span class=\"prdct-desc-cntnr-name\">")
+                .append(escape(product.getBrand())).append("</span>")
+                .append("<div class=\"product-desc-sub-text\">").append(escape(product.getTitle())).append("</div></div>")
+                .append("<div class=\"price-item discounted\">").append(product.getPrice()).append("</div></a>")
+                .append("<button class=\"add-to-basket-button\" onclick=\"basket('add', '")
+                .append(product.getId()).append("')\">Sepete Ekle</button></div>");
+        }
+        body.append("</div></main>");
+        return page(query + " - Trendyol", query, basketCount, body);
+    }
+
+    static String product(Catalog.Product product, int basketCount) {
+        StringBuilder body = new StringBuilder("<main>");
+        body.append("<h1 class=\"product-title\">").append(escape(product.getName())).append("</h1>")
+            .append("<div class=\"product-price-container\"><span class=\"discounted\">")
+            .append(product.getPrice()).append("</span></div>")
+            .append("<button class=\"add-to-cart-button\" data-testid=\"add-to-cart-button\" onclick=\"")
+            .append("var button = this; basket('add', '").append(product.getId()).append("').then(function () {")
+            .append("button.querySelector('.add-to-cart-button-text').textContent = 'Sepete Eklendi'; })\">")
+            .append("<span class=\"add-to-cart-button-text\">Sepete Ekle</span></button>")
+            .append("</main>");
+        return page(product.getName() + " - Trendyol", "", basketCount, body);
+    }
+
+    static String cart(Cart cart) {
+        List<Cart.Line> lines = cart.getLines();
+        StringBuilder body = new StringBuilder("<main>");
+        body.append("<div class=\"pb-header\"><h1>Sepetim (").append(cart.getItemCount()).append(" Ürün)</h1></div>");
+        if (lines.isEmpty()) {
+            body.append("<div class=\"empty-cart\">Sepetinde ürün bulunmamaktadır.</div>");
+        }
+        for (Cart.Line line : lines) {
+            Catalog.Product product = line.getProduct();
+            body.append("<div class=\"pb-basket-item\">")
+                .append("<p class=\"pb-item\">").append(escape(product.getName())).append("</p>")
+                .append("<input class=\"counter-content\" value=\"").append(line.getQuantity()).append("\" readonly>")
+                .append("<div class=\"pb-basket-item-price\">").append(line.getTotal()).append("</div>")
+                .append("<button aria-label=\"Ürünü sepetten çıkartma\" onclick=\"basket('remove', '")
+                .append(product.getId()).append("').then(function () { location.reload(); })\">Sil</button></div>");
+        }
+        if (!lines.isEmpty()) {
+            // The final total comes first: the cart page's total price fallback takes the first "total" div
+            body.append("<div class=\"pb-summary\">")
+                .append("<div class=\"pb-summary-total-price\" title=\"").append(cart.getFinalTotal()).append("\">")
+                .append("<strong>").append(cart.getFinalTotal()).append("</strong></div><ul>")
+                .append(summaryRow("Ürünün Toplamı", cart.getProductsTotal().toString()))
+                .append(summaryRow("Kargo Toplam", Cart.SHIPPING.toString()));
+            if (cart.hasFreeShipping()) {
+                body.append("<li class=\"pb-summary-promotion\"><span>Kargo Bedava (Satıcı Karşılar)</span>")
+                    .append("<strong class=\"discount\" title=\"").append(Cart.SHIPPING.negate()).append("\">")
+                    .append(Cart.SHIPPING.negate()).append("</strong></li>");
+            }
+            body.append("</ul>");
+            if (cart.hasFreeShipping()) {
+                body.append("<div class=\"total-saving\"><span>Toplam Kazancın</span>")
+                    .append("<div class=\"total-saving-price\"><span>").append(Cart.SHIPPING).append("</span></div></div>");
+            }
+            body.append("</div>");
+        }
+        body.append("</main>");
+        return page("Sepetim - Trendyol", "", cart.getItemCount(), body);
+    }
+
+    static String notFound() {
+        return page("Sayfa Bulunamadı - Trendyol", "", 0, new StringBuilder("<main><h1>Sayfa bulunamadı</h1></main>"));
+    }
+
+    private static String summaryRow(String label, String amount) {
+        return "<li><span>" + label + "</span><strong title=\"" + amount + "\">" + amount + "</strong></li>";
+    }
+
+    private static String page(String title, String query, int basketCount, CharSequence body) {
+        return "<!DOCTYPE html><html lang=\"tr\"><head><meta charset=\"utf-8\"><title>" + escape(title) + "</title>"
+            + "<style>" + STYLE + "</style><script>" + SCRIPT + "</script></head><body>"
+            + "<header><a href=\"/\"><strong>trendyol</strong></a>"
+            + "<form action=\"/sr\" method=\"get\"><input type=\"text\" name=\"q\" data-testid=\"suggestion\""
+            + " placeholder=\"Aradığınız ürün, kategori veya markayı yazınız\" value=\"" + escape(query) + "\"></form>"
+            + "<a class=\"link account-basket\" href=\"/sepet\">Sepetim "
+            + "<div class=\"basket-item-count basket-item-count-container" + (basketCount > 0 ? " visible" : "") + "\">"
+            + "<span class=\"bs-counter-text\">" + basketCount + "</span></div></a></header>"
+            + body + "</body></html>";
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;").replace("'", "&#39;");
+    }
+}
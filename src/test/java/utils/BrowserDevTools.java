@@ -0,0 +1,153 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Chrome DevTools access for one browser session.
+ *
+ * <p>Commands and events are sent by their raw CDP names (e.g. {@code Network.enable}) rather
+ * than through the versioned {@code devtools.vNNN} classes, so they keep working when Chrome
+ * moves to a CDP version this Selenium release does not ship bindings for.
+ *
+ * <p>A DevTools session is attached to one tab. Features register an installer with
+ * {@link #install(String, Consumer)}; when the page objects move to another tab,
+ * {@link #followCurrentWindow()} re-attaches and runs every installer again.
+ */
+public final class BrowserDevTools {
+
+    private static final Logger LOG = Logger.get(BrowserDevTools.class);
+
+    private static final Map<WebDriver, BrowserDevTools> INSTANCES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WebDriver driver;
+    private final DevTools devTools;
+    private final Map<String, Consumer<DevTools>> installers = new LinkedHashMap<>();
+    private String attachedWindow;
+
+    private BrowserDevTools(WebDriver driver, DevTools devTools) {
+        this.driver = driver;
+        this.devTools = devTools;
+    }
+
+    /**
+     * Returns the DevTools helper for {@code driver}, creating it on first use. The helper is
+     * unavailable (see {@link #isAvailable()}) for drivers without CDP support.
+     */
+    public static BrowserDevTools of(WebDriver driver) {
+        synchronized (INSTANCES) {
+            return INSTANCES.computeIfAbsent(driver, d -> new BrowserDevTools(d, connect(d)));
+        }
+    }
+
+    private static DevTools connect(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        try {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            return devTools.orElse(null);
+        } catch (Exception e) {
+            LOG.info("DevTools not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean isAvailable() {
+        return devTools != null;
+    }
+
+    /**
+     * Runs {@code installer} against the current tab now and again after every re-attach.
+     * Registering another installer under the same name replaces the previous one for future
+     * re-attaches; listeners it already added stay registered until the next re-attach.
+     */
+    public synchronized void install(String name, Consumer<DevTools> installer) {
+        if (devTools == null) {
+            return;
+        }
+        installers.put(name, installer);
+        if (attachedWindow == null) {
+            // Attaching runs every registered installer, including this one
+            ensureSession();
+        } else {
+            runInstaller(name, installer);
+        }
+    }
+
+    /**
+     * Makes sure the DevTools session is attached to the tab the driver is currently on.
+     */
+    public synchronized void followCurrentWindow() {
+        if (devTools == null) {
+            return;
+        }
+        try {
+            String window = driver.getWindowHandle();
+            if (!window.equals(attachedWindow)) {
+                attach(window);
+            }
+        } catch (Exception e) {
+            LOG.warn("Could not attach DevTools to the current window: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a raw CDP command and returns its result, or an empty map if DevTools is unavailable.
+     */
+    public synchronized Map<String, Object> send(String method, Map<String, Object> params) {
+        if (devTools == null || !ensureSession()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> result = devTools.send(new Command<>(method, params, Json.MAP_TYPE));
+        return result == null ? Collections.emptyMap() : result;
+    }
+
+    /**
+     * A raw CDP event whose parameters are delivered as a map.
+     */
+    public static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private boolean ensureSession() {
+        if (attachedWindow != null) {
+            return true;
+        }
+        try {
+            attach(driver.getWindowHandle());
+            return true;
+        } catch (Exception e) {
+            LOG.warn("Could not create DevTools session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void attach(String window) {
+        devTools.clearListeners();
+        devTools.createSession(window);
+        attachedWindow = window;
+        for (Map.Entry<String, Consumer<DevTools>> entry : installers.entrySet()) {
+            runInstaller(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void runInstaller(String name, Consumer<DevTools> installer) {
+        try {
+            installer.accept(devTools);
+        } catch (Exception e) {
+            LOG.warn("DevTools feature '" + name + "' could not be installed: " + e.getMessage());
+        }
+    }
+}
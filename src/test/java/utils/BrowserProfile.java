@@ -0,0 +1,185 @@
+package utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * A named set of Chrome launch settings from {@code src/test/resources/browser-profiles.properties}:
+ * switches, window size, page load strategy, user agent and preferences. Chosen with
+ * {@code -Dbrowser.profile=<name>} (headed-debug, headless-new, low-memory, ci), defaulting to
+ * the file's {@code default}.
+ */
+public final class BrowserProfile {
+
+    private static final Logger LOG = Logger.get(BrowserProfile.class);
+
+    private static final String RESOURCE = "browser-profiles.properties";
+    private static final Properties CONFIG = loadConfig();
+
+    private final String name;
+    private final List<String> args = new ArrayList<>();
+    private final Map<String, Object> prefs = new LinkedHashMap<>();
+    private String windowSize;
+    private String pageLoadStrategy;
+    private String userAgent;
+
+    private BrowserProfile(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The profile selected by {@code browser.profile}.
+     */
+    public static BrowserProfile selected() {
+        return named(TestConfig.getString("browser.profile", CONFIG.getProperty("default", "headed-debug").trim()));
+    }
+
+    /**
+     * Loads {@code name} with everything it inherits.
+     *
+     * @throws IllegalArgumentException if the file defines no such profile
+     */
+    public static BrowserProfile named(String name) {
+        if (!isDefined(name)) {
+            throw new IllegalArgumentException("Unknown browser profile '" + name + "' (see " + RESOURCE + ")");
+        }
+        BrowserProfile profile = new BrowserProfile(name);
+        profile.apply(name, new HashSet<>());
+        return profile;
+    }
+
+    private static boolean isDefined(String name) {
+        String prefix = name + ".";
+        for (String key : CONFIG.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Applies the parent chain first so the child's settings win
+    private void apply(String profile, Set<String> visited) {
+        if (!visited.add(profile)) {
+            throw new IllegalArgumentException("Browser profile '" + profile + "' extends itself");
+        }
+        String parent = CONFIG.getProperty(profile + ".extends");
+        if (parent != null && !parent.trim().isEmpty()) {
+            apply(parent.trim(), visited);
+        }
+        String switches = CONFIG.getProperty(profile + ".args");
+        if (switches != null) {
+            // Split before each "--" only: a switch value may itself contain commas
+            for (String arg : switches.trim().split(",\\s*(?=--)")) {
+                if (!arg.trim().isEmpty()) {
+                    args.add(arg.trim());
+                }
+            }
+        }
+        windowSize = CONFIG.getProperty(profile + ".windowSize", windowSize);
+        pageLoadStrategy = CONFIG.getProperty(profile + ".pageLoadStrategy", pageLoadStrategy);
+        userAgent = CONFIG.getProperty(profile + ".userAgent", userAgent);
+        String prefPrefix = profile + ".pref.";
+        for (String key : CONFIG.stringPropertyNames()) {
+            if (key.startsWith(prefPrefix)) {
+                prefs.put(key.substring(prefPrefix.length()), prefValue(CONFIG.getProperty(key).trim()));
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isHeadless() {
+        for (String arg : args) {
+            if (arg.startsWith("--headless")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getArgs() {
+        return Collections.unmodifiableList(args);
+    }
+
+    public String getPageLoadStrategy() {
+        return pageLoadStrategy == null ? "normal" : pageLoadStrategy.trim();
+    }
+
+    /**
+     * Chrome options for this profile. The debugging port is left to the caller, which lets
+     * Chrome pick a free one per session.
+     */
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments(args);
+        String size = windowSize == null ? "" : windowSize.trim();
+        if (size.equalsIgnoreCase("maximized")) {
+            options.addArguments("--start-maximized");
+        } else if (!size.isEmpty()) {
+            options.addArguments("--window-size=" + size.replace(" ", ""));
+        }
+        if (userAgent != null && !userAgent.trim().isEmpty()) {
+            options.addArguments("--user-agent=" + userAgent.trim());
+        }
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(getPageLoadStrategy());
+        if (strategy == null) {
+            LOG.warn("Unknown page load strategy '" + getPageLoadStrategy() + "' in browser profile " + name + ", using normal");
+            strategy = PageLoadStrategy.NORMAL;
+        }
+        options.setPageLoadStrategy(strategy);
+        if (!prefs.isEmpty()) {
+            options.setExperimentalOption("prefs", new LinkedHashMap<>(prefs));
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + (isHeadless() ? "headless" : "headed") + ", page load " + getPageLoadStrategy()
+            + (windowSize == null ? "" : ", window " + windowSize.trim()) + ")";
+    }
+
+    private static Object prefValue(String value) {
+        if (value.equals("true") || value.equals("false")) {
+            return Boolean.valueOf(value);
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    private static Properties loadConfig() {
+        Properties properties = new Properties();
+        try (InputStream in = BrowserProfile.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                LOG.warn(RESOURCE + " not found on the classpath");
+                return properties;
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read " + RESOURCE + ": " + e.getMessage());
+        }
+        return properties;
+    }
+}
@@ -1,59 +1,430 @@
 package utils;
 
+import com.trendyol.archive.HttpArchive;
+import com.trendyol.metrics.CommandMetricsListener;
+import com.trendyol.network.ResourceBlocking;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import io.github.bonigarcia.wdm.WebDriverManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of Chrome sessions. Every thread that calls {@link #getDriver()} leases its own
+ * session and keeps it until it calls {@link #releaseDriver()} or {@link #quitDriver()},
+ * so scenarios running on different threads never share a browser.
+ *
+ * <p>Settings (system properties):
+ * <ul>
+ *   <li>{@code driver.pool.size} - maximum number of live sessions, defaults to the number of cores</li>
+ *   <li>{@code driver.pool.acquireTimeoutSeconds} - how long a thread waits for a free slot (default 300)</li>
+ *   <li>{@code driver.pool.leakTimeoutSeconds} - lease age after which a session is reported as leaked (default 600)</li>
+ *   <li>{@code driver.reuse} - keep browsers warm between scenarios instead of quitting them (default true)</li>
+ *   <li>{@code driver.reuse.maxScenarios} - scenarios a browser serves before it is recycled (default 10)</li>
+ *   <li>{@code browser.profile} - Chrome launch profile, see {@link BrowserProfile} (default headed-debug)</li>
+ *   <li>{@code metrics.driverCommands} - count WebDriver commands per step for the timing plugin (default true)</li>
+ *   <li>{@code http.archive} - record or replay the browser's HTTP traffic, see {@link HttpArchive}</li>
+ *   <li>{@code network.blocking} - request blocking profile, see {@link ResourceBlocking}</li>
+ * </ul>
+ *
+ * <p>In reuse mode a released session is reset (extra tabs closed, cookies, localStorage and
+ * sessionStorage cleared, blank page loaded) before it goes back to the pool.
+ */
 public class DriverFactory {
 
-    private static WebDriver driver;
+    private static final Logger LOG = Logger.get(DriverFactory.class);
+
+    private static final int POOL_SIZE = Math.max(1,
+        TestConfig.getInt("driver.pool.size", Runtime.getRuntime().availableProcessors()));
+    private static final long ACQUIRE_TIMEOUT_SECONDS = TestConfig.getLong("driver.pool.acquireTimeoutSeconds", 300);
+    private static final long LEAK_TIMEOUT_SECONDS = TestConfig.getLong("driver.pool.leakTimeoutSeconds", 600);
+    private static final long LEAK_CHECK_INTERVAL_SECONDS = 30;
+    private static final boolean REUSE = TestConfig.getBoolean("driver.reuse", true);
+    private static final int MAX_SCENARIOS_PER_SESSION = Math.max(1, TestConfig.getInt("driver.reuse.maxScenarios", 10));
+    private static final boolean COMMAND_METRICS = TestConfig.getBoolean("metrics.driverCommands", true);
+
+    // One permit per live session, leased or idle
+    private static final Semaphore permits = new Semaphore(POOL_SIZE, true);
+    private static final ConcurrentLinkedDeque<PooledSession> idleSessions = new ConcurrentLinkedDeque<>();
+    private static final Set<PooledSession> leasedSessions = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<PooledSession> currentSession = new ThreadLocal<>();
+    private static final ThreadLocal<SessionAcquisition> lastAcquisition = new ThreadLocal<>();
+    private static final SessionStats stats = new SessionStats();
+
+    private static final ScheduledExecutorService leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "driver-pool-leak-detector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        leakDetector.scheduleWithFixedDelay(DriverFactory::detectLeaks,
+            LEAK_CHECK_INTERVAL_SECONDS, LEAK_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverFactory::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Returns the session leased by the calling thread, leasing one from the pool
+     * (or starting a new Chrome) if the thread does not hold one yet.
+     */
+    public static WebDriver getDriver() {
+        PooledSession session = currentSession.get();
+        if (session != null) {
+            return session.driver;
+        }
+
+        long start = System.nanoTime();
+        acquirePermit();
+        boolean warm;
+        try {
+            session = takeHealthyIdleSession();
+            warm = session != null;
+            if (session == null) {
+                session = new PooledSession(createDriver());
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        session.lease(Thread.currentThread());
+        session.scenariosServed++;
+        leasedSessions.add(session);
+        currentSession.set(session);
+
+        SessionAcquisition acquisition = new SessionAcquisition(warm, startupMillis, session.scenariosServed);
+        lastAcquisition.set(acquisition);
+        stats.recordAcquisition(acquisition);
+        return session.driver;
+    }
+
+    /**
+     * Describes how the calling thread got its current session (warm or cold, and how long it took),
+     * or {@code null} if the thread has not called {@link #getDriver()} yet.
+     */
+    public static SessionAcquisition getLastAcquisition() {
+        return lastAcquisition.get();
+    }
+
+    /**
+     * Ends the calling thread's use of its session. In reuse mode the browser is reset and
+     * returned to the pool unless it is unhealthy or has served {@code driver.reuse.maxScenarios}
+     * scenarios; otherwise it is quit.
+     */
+    public static void releaseDriver() {
+        PooledSession session = currentSession.get();
+        if (session == null) {
+            return;
+        }
+        if (!REUSE) {
+            quitDriver();
+            return;
+        }
+        currentSession.remove();
+        leasedSessions.remove(session);
+
+        if (session.scenariosServed >= MAX_SCENARIOS_PER_SESSION) {
+            LOG.info("Recycling browser session after " + session.scenariosServed + " scenarios");
+            quitQuietly(session.driver);
+        } else if (resetSession(session)) {
+            session.release();
+            idleSessions.offerFirst(session);
+        } else {
+            LOG.warn("Discarding unhealthy browser session instead of returning it to the pool");
+            quitQuietly(session.driver);
+        }
+        permits.release();
+    }
+
+    /**
+     * Quits the calling thread's session and frees its pool slot.
+     */
+    public static void quitDriver() {
+        PooledSession session = currentSession.get();
+        if (session == null) {
+            return;
+        }
+        currentSession.remove();
+        leasedSessions.remove(session);
+        quitQuietly(session.driver);
+        permits.release();
+    }
+
+    public static int getPoolSize() {
+        return POOL_SIZE;
+    }
+
+    private static void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No browser session became available within "
+                    + ACQUIRE_TIMEOUT_SECONDS + "s (pool size " + POOL_SIZE + ", leased: " + describeLeases() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+    }
+
+    private static PooledSession takeHealthyIdleSession() {
+        PooledSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            if (isHealthy(session.driver)) {
+                return session;
+            }
+            LOG.warn("Idle browser session failed health check, starting a new one");
+            quitQuietly(session.driver);
+        }
+        return null;
+    }
+
+    /**
+     * Brings a session back to a clean state so the next scenario cannot see anything the
+     * previous one did. Returns false if the browser did not survive the reset.
+     */
+    private static boolean resetSession(PooledSession session) {
+        long start = System.nanoTime();
+        WebDriver driver = session.driver;
+        try {
+            // Close the tabs the scenario opened, keeping the one the session started with
+            WindowTracker.of(driver).closeOpenedWindows();
+            if (driver.getWindowHandles().size() > 1) {
+                // Something opened a window nobody registered; close it the slow way
+                LOG.warn("Closing windows that were not tracked");
+                for (String handle : driver.getWindowHandles()) {
+                    if (!handle.equals(session.primaryWindow)) {
+                        driver.switchTo().window(handle);
+                        driver.close();
+                    }
+                }
+                driver.switchTo().window(session.primaryWindow);
+            }
+            // DevTools may still be attached to a tab that was just closed; without this the next
+            // scenario's interception, blocking and cookie commands would go to a dead session
+            BrowserDevTools.of(driver).followCurrentWindow();
+
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+
+            // deleteAllCookies() only covers the current domain, CDP clears the whole cookie jar
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+
+            driver.get("about:blank");
+            stats.recordReset(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } catch (Exception e) {
+            LOG.warn("Error resetting browser session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    static boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (PooledSession session : leasedSessions) {
+            Thread owner = session.owner;
+            if (owner != null && !owner.isAlive()) {
+                // The thread died without releasing its session, so nobody can ever release it
+                if (leasedSessions.remove(session)) {
+                    LOG.warn("Reclaiming browser session leaked by terminated thread " + owner.getName());
+                    quitQuietly(session.driver);
+                    permits.release();
+                }
+            } else if (!session.leakReported && now - session.leasedAt > TimeUnit.SECONDS.toMillis(LEAK_TIMEOUT_SECONDS)) {
+                session.leakReported = true;
+                // leasedFrom carries the stack trace of the getDriver() call that took the session
+                LOG.warn("Possible browser session leak: held by " + (owner != null ? owner.getName() : "?")
+                    + " for " + TimeUnit.MILLISECONDS.toSeconds(now - session.leasedAt) + "s", session.leasedFrom);
+            }
+        }
+    }
+
+    private static String describeLeases() {
+        List<String> owners = new ArrayList<>();
+        for (PooledSession session : leasedSessions) {
+            owners.add(session.owner != null ? session.owner.getName() : "?");
+        }
+        return owners.toString();
+    }
+
+    private static void shutdown() {
+        leakDetector.shutdownNow();
+        LOG.info(stats.summary());
+        for (PooledSession session : leasedSessions) {
+            quitQuietly(session.driver);
+        }
+        leasedSessions.clear();
+        PooledSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            quitQuietly(session.driver);
+        }
+    }
 
-public static WebDriver getDriver() {
-    if (driver == null) {
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            LOG.warn("Error quitting browser session: " + e.getMessage());
+        }
+    }
+
+    private static WebDriver createDriver() {
         WebDriverManager.chromedriver().setup();
 
-        ChromeOptions options = new ChromeOptions();
-
-        // Senin eklediğin ayarlar
-        options.addArguments("--start-maximized");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--remote-debugging-port=9222");
-        options.addArguments("--user-agent=Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/135.0.0.0 Safari/537.36");
-
-        // Notification ve permission pop-up'ları disable et
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-permissions-api");
-        options.addArguments("--disable-web-security");
-        options.addArguments("--allow-running-insecure-content");
-        
+        BrowserProfile profile = BrowserProfile.selected();
+        ChromeOptions options = profile.toChromeOptions();
+        // Port 0: Chrome binds a free port itself and reports it back as goog:chromeOptions.debuggerAddress,
+        // so concurrent Chromes on one host never race for the same port
+        options.addArguments("--remote-debugging-port=0");
+
         // Experimental options
         options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
         options.setExperimentalOption("useAutomationExtension", false);
-        
-        // Notification permissions'ı disable et
-        options.setExperimentalOption("prefs", new java.util.HashMap<String, Object>() {{
-            put("profile.default_content_setting_values.notifications", 2);
-            put("profile.default_content_setting_values.media_stream_mic", 2);
-            put("profile.default_content_setting_values.media_stream_camera", 2);
-            put("profile.default_content_setting_values.geolocation", 2);
-        }});
+        LOG.info("Starting Chrome with browser profile " + profile);
 
         // Driver oluştur
-        driver = new ChromeDriver(options);
+        ChromeDriver chrome = new ChromeDriver(options);
+        LOG.info("Chrome debugger address: " + debuggerAddress(chrome));
+        WebDriver driver = chrome;
+        if (COMMAND_METRICS) {
+            // Every command goes through the listener so the timing plugin can count it per step
+            driver = new EventFiringDecorator<WebDriver>(new CommandMetricsListener()).decorate(driver);
+        }
+        HttpArchive.install(driver);
+        ResourceBlocking.install(driver);
+        return driver;
     }
-    return driver;
-}
 
-    public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+    private static Object debuggerAddress(ChromeDriver chrome) {
+        Object chromeOptions = chrome.getCapabilities().getCapability("goog:chromeOptions");
+        return chromeOptions instanceof Map ? ((Map<?, ?>) chromeOptions).get("debuggerAddress") : null;
+    }
+
+    /**
+     * A browser session plus the bookkeeping the pool needs for leak detection.
+     */
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final String primaryWindow;
+        private int scenariosServed;
+        private volatile Thread owner;
+        private volatile long leasedAt;
+        private volatile Throwable leasedFrom;
+        private volatile boolean leakReported;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.primaryWindow = WindowTracker.of(driver).getPrimaryWindow();
+        }
+
+        private void lease(Thread thread) {
+            owner = thread;
+            leasedAt = System.currentTimeMillis();
+            leasedFrom = new Throwable("Browser session leased by " + thread.getName());
+            leakReported = false;
+        }
+
+        private void release() {
+            owner = null;
+            leasedFrom = null;
+        }
+    }
+
+    /**
+     * How a scenario obtained its browser: a cold start or a warm session from the pool.
+     */
+    public static final class SessionAcquisition {
+        private final boolean warm;
+        private final long startupMillis;
+        private final int scenarioNumber;
+
+        private SessionAcquisition(boolean warm, long startupMillis, int scenarioNumber) {
+            this.warm = warm;
+            this.startupMillis = startupMillis;
+            this.scenarioNumber = scenarioNumber;
+        }
+
+        public boolean isWarm() {
+            return warm;
+        }
+
+        public long getStartupMillis() {
+            return startupMillis;
+        }
+
+        /** 1 for a fresh browser, 2 for its first reuse and so on. */
+        public int getScenarioNumber() {
+            return scenarioNumber;
+        }
+
+        @Override
+        public String toString() {
+            return (warm ? "warm" : "cold") + " browser ready in " + startupMillis + " ms"
+                + (warm ? " (scenario " + scenarioNumber + " on this session)" : "");
+        }
+    }
+
+    /**
+     * Run-wide startup timings, used to report how much time session reuse saved.
+     */
+    private static final class SessionStats {
+        private long coldStarts;
+        private long coldMillis;
+        private long warmStarts;
+        private long warmMillis;
+        private long resets;
+        private long resetMillis;
+
+        synchronized void recordAcquisition(SessionAcquisition acquisition) {
+            if (acquisition.isWarm()) {
+                warmStarts++;
+                warmMillis += acquisition.getStartupMillis();
+            } else {
+                coldStarts++;
+                coldMillis += acquisition.getStartupMillis();
+            }
+        }
+
+        synchronized void recordReset(long millis) {
+            resets++;
+            resetMillis += millis;
+        }
+
+        synchronized String summary() {
+            long averageCold = coldStarts == 0 ? 0 : coldMillis / coldStarts;
+            long saved = warmStarts * averageCold - warmMillis - resetMillis;
+            return "Browser sessions: " + coldStarts + " cold starts (avg " + averageCold + " ms), "
+                + warmStarts + " warm reuses (total " + warmMillis + " ms), "
+                + resets + " resets (total " + resetMillis + " ms), estimated time saved: " + Math.max(0, saved) + " ms";
         }
     }
 }
@@ -0,0 +1,159 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds which of a fixed set of keywords occur in a text, in one pass over the text
+ * (Aho-Corasick). Keywords and texts are compared after {@link TurkishText} folding, so
+ * "Kılıf" matches "KILIF" and "kilif".
+ *
+ * <p>Build one matcher per query and run it over every title; the cost per title is linear
+ * in its length no matter how many keywords the query has.
+ */
+public final class KeywordMatcher {
+
+    private final List<String> keywords;
+    // Trie edges per state, sorted by label for a binary search
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    // Keywords (by index) that end in each state, including those reached via failure links
+    private final BitSet[] outputs;
+
+    private KeywordMatcher(List<String> keywords, char[][] labels, int[][] targets, int[] failure, BitSet[] outputs) {
+        this.keywords = keywords;
+        this.labels = labels;
+        this.targets = targets;
+        this.failure = failure;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Builds a matcher for the non-empty keywords in {@code keywords}.
+     */
+    public static KeywordMatcher of(Collection<String> keywords) {
+        List<String> folded = new ArrayList<>();
+        for (String keyword : keywords) {
+            String normalized = TurkishText.normalize(keyword).trim();
+            if (!normalized.isEmpty() && !folded.contains(normalized)) {
+                folded.add(normalized);
+            }
+        }
+
+        // Trie
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<BitSet> ends = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        ends.add(new BitSet());
+        for (int k = 0; k < folded.size(); k++) {
+            int state = 0;
+            for (char c : folded.get(k).toCharArray()) {
+                Integer next = edges.get(state).get(c);
+                if (next == null) {
+                    next = edges.size();
+                    edges.add(new TreeMap<>());
+                    ends.add(new BitSet());
+                    edges.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ends.get(state).set(k);
+        }
+
+        int stateCount = edges.size();
+        char[][] labels = new char[stateCount][];
+        int[][] targets = new int[stateCount][];
+        for (int s = 0; s < stateCount; s++) {
+            labels[s] = new char[edges.get(s).size()];
+            targets[s] = new int[edges.get(s).size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.get(s).entrySet()) {
+                labels[s][i] = edge.getKey();
+                targets[s][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // Failure links, breadth first so a state's failure target is done before the state
+        int[] failure = new int[stateCount];
+        BitSet[] outputs = ends.toArray(new BitSet[0]);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                int child = targets[state][i];
+                int fallback = failure[state];
+                int next;
+                while ((next = step(labels, targets, fallback, labels[state][i])) < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = next < 0 ? 0 : next;
+                outputs[child].or(outputs[failure[child]]);
+                queue.add(child);
+            }
+        }
+        return new KeywordMatcher(Collections.unmodifiableList(folded), labels, targets, failure, outputs);
+    }
+
+    private static int step(char[][] labels, int[][] targets, int state, char c) {
+        int i = Arrays.binarySearch(labels[state], c);
+        return i < 0 ? -1 : targets[state][i];
+    }
+
+    /**
+     * The folded keywords; bit {@code i} of {@link #match(CharSequence)} refers to element {@code i}.
+     */
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * Folds {@code text} on the fly and returns the indexes of the keywords it contains.
+     */
+    public BitSet match(CharSequence text) {
+        BitSet found = new BitSet(keywords.size());
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = TurkishText.fold(text.charAt(i));
+            int next;
+            while ((next = step(labels, targets, state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = next < 0 ? 0 : next;
+            if (!outputs[state].isEmpty()) {
+                found.or(outputs[state]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * True if every keyword occurs in {@code text}.
+     */
+    public boolean matchesAll(CharSequence text) {
+        return match(text).cardinality() == keywords.size();
+    }
+
+    /**
+     * The keywords from a {@link #match(CharSequence)} result, for logging.
+     */
+    public List<String> keywordsIn(BitSet found) {
+        List<String> result = new ArrayList<>(found.cardinality());
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            result.add(keywords.get(i));
+        }
+        return result;
+    }
+}
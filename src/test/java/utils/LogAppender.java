@@ -0,0 +1,264 @@
+package utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer behind {@link Logger}.
+ *
+ * <p>Logging threads only put events into a fixed-size ring buffer ({@code log.bufferSize},
+ * default 8192) and never wait. If the buffer is full the event is dropped and counted.
+ * A daemon thread writes each event as one JSON object per line to the scenario's file
+ * ({@code target/logs/<n>_<scenario>.jsonl}) or to {@code target/logs/run.jsonl} outside
+ * scenarios, and prints it to the console if it is at or above {@code log.console.level}.
+ */
+final class LogAppender {
+
+    private static final LogAppender INSTANCE = new LogAppender(
+        Paths.get(TestConfig.getString("log.dir", "target/logs")),
+        parseSize(TestConfig.getString("log.bufferSize", "8192")),
+        Logger.parseLevel(TestConfig.getString("log.console.level", "INFO")));
+
+    private static final String RUN_LOG = "run";
+
+    private final Path directory;
+    private final Logger.Level consoleLevel;
+    private final BlockingQueue<Event> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger scenarioCounter = new AtomicInteger();
+    private volatile boolean closed;
+
+    // Writer thread only
+    private final Map<String, Writer> files = new HashMap<>();
+    private final SimpleDateFormat isoTime = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    private final SimpleDateFormat consoleTime = new SimpleDateFormat("HH:mm:ss.SSS");
+
+    private LogAppender(Path directory, int bufferSize, Logger.Level consoleLevel) {
+        this.directory = directory;
+        this.consoleLevel = consoleLevel;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        isoTime.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        Thread writer = new Thread(this::run, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "log-writer-close"));
+    }
+
+    static LogAppender getInstance() {
+        return INSTANCE;
+    }
+
+    void append(Event event) {
+        if (closed) {
+            // Shutdown hooks log after the writer is done; keep those on the console
+            if (event.closeMarker) {
+                return;
+            }
+            synchronized (this) {
+                System.out.println(formatForConsole(event));
+            }
+            return;
+        }
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the key events of a new scenario are tagged with; it doubles as the file name.
+     */
+    String openScenario(String scenarioName) {
+        return String.format("%04d_%s", scenarioCounter.incrementAndGet(), TurkishText.toFileName(scenarioName, 80));
+    }
+
+    void closeScenario(String scenario) {
+        append(Event.closeMarker(scenario));
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Event event = buffer.take();
+                synchronized (this) {
+                    write(event);
+                    // Flush when we have caught up so files are readable while the run is going
+                    if (buffer.isEmpty()) {
+                        flushAll();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Event event) {
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            write(new Event(System.currentTimeMillis(), Logger.Level.WARN, "LogAppender", Thread.currentThread().getName(),
+                null, "Log buffer full, dropped " + lost + " events", null));
+        }
+
+        String file = event.scenario != null ? event.scenario : RUN_LOG;
+        if (event.closeMarker) {
+            closeFile(file);
+            return;
+        }
+        try {
+            Writer writer = files.get(file);
+            if (writer == null) {
+                Files.createDirectories(directory);
+                writer = Files.newBufferedWriter(directory.resolve(file + ".jsonl"), StandardCharsets.UTF_8);
+                files.put(file, writer);
+            }
+            writer.write(toJson(event));
+            writer.write('\n');
+        } catch (IOException e) {
+            System.out.println("Could not write log file " + file + ": " + e.getMessage());
+        }
+        if (event.level.compareTo(consoleLevel) >= 0) {
+            System.out.println(formatForConsole(event));
+        }
+    }
+
+    private void flushAll() {
+        for (Writer writer : files.values()) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                // Reported when the file is closed
+            }
+        }
+    }
+
+    private void closeFile(String file) {
+        Writer writer = files.remove(file);
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.out.println("Could not close log file " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void close() {
+        closed = true;
+        Event event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+        }
+        for (String file : files.keySet().toArray(new String[0])) {
+            closeFile(file);
+        }
+    }
+
+    private String toJson(Event event) {
+        StringBuilder json = new StringBuilder(128 + event.message.length());
+        json.append("{\"ts\":\"").append(isoTime.format(new Date(event.timestamp))).append('"');
+        json.append(",\"level\":\"").append(event.level).append('"');
+        appendField(json, "logger", event.logger);
+        appendField(json, "thread", event.thread);
+        if (event.scenario != null) {
+            appendField(json, "scenario", event.scenario);
+        }
+        appendField(json, "msg", event.message);
+        if (event.error != null) {
+            StringWriter trace = new StringWriter();
+            event.error.printStackTrace(new PrintWriter(trace));
+            appendField(json, "error", trace.toString());
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendField(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    private String formatForConsole(Event event) {
+        String line;
+        synchronized (consoleTime) {
+            line = consoleTime.format(new Date(event.timestamp));
+        }
+        line += " " + event.level + " [" + event.thread + "] " + event.logger + " - " + event.message;
+        if (event.error != null) {
+            line += " (" + event.error + ")";
+        }
+        return line;
+    }
+
+    private static int parseSize(String value) {
+        try {
+            return Math.max(64, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return 8192;
+        }
+    }
+
+    /**
+     * One log call, captured on the logging thread.
+     */
+    static final class Event {
+        final long timestamp;
+        final Logger.Level level;
+        final String logger;
+        final String thread;
+        final String scenario;
+        final String message;
+        final Throwable error;
+        final boolean closeMarker;
+
+        Event(long timestamp, Logger.Level level, String logger, String thread, String scenario, String message, Throwable error) {
+            this(timestamp, level, logger, thread, scenario, message == null ? "null" : message, error, false);
+        }
+
+        private Event(long timestamp, Logger.Level level, String logger, String thread, String scenario, String message,
+                      Throwable error, boolean closeMarker) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.logger = logger;
+            this.thread = thread;
+            this.scenario = scenario;
+            this.message = message;
+            this.error = error;
+            this.closeMarker = closeMarker;
+        }
+
+        static Event closeMarker(String scenario) {
+            return new Event(System.currentTimeMillis(), Logger.Level.OFF, "LogAppender", "", scenario, "", null, true);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package utils;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Leveled logger for the suite. Events go to a ring buffer and are written by a background
+ * thread as JSON lines, one file per scenario under {@code target/logs/}, plus a readable copy
+ * on the console (see {@link LogAppender}).
+ *
+ * <p>Levels come from {@code log.level} (default INFO) and {@code log.console.level} (default
+ * INFO). Use the {@link Supplier} overloads for messages that are expensive to build, e.g.
+ * ones that ask the browser for something: below the enabled level they are never evaluated.
+ */
+public final class Logger {
+
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    static final Level LEVEL = parseLevel(TestConfig.getString("log.level", "INFO"));
+
+    // Scenario the calling thread is running, set by ScenarioContext
+    private static final ThreadLocal<String> SCENARIO = new ThreadLocal<>();
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    public static Logger get(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    /**
+     * Tags every event logged on the calling thread with {@code scenarioName} until
+     * {@link #endScenario()}; those events also go to the scenario's own log file.
+     */
+    public static void startScenario(String scenarioName) {
+        SCENARIO.set(LogAppender.getInstance().openScenario(scenarioName));
+    }
+
+    public static void endScenario() {
+        String scenario = SCENARIO.get();
+        if (scenario != null) {
+            SCENARIO.remove();
+            LogAppender.getInstance().closeScenario(scenario);
+        }
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(LEVEL) >= 0 && level != Level.OFF;
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, message.get(), null);
+        }
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void warn(String message, Throwable error) {
+        log(Level.WARN, message, error);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    private void log(Level level, String message, Throwable error) {
+        if (isEnabled(level)) {
+            LogAppender.getInstance().append(new LogAppender.Event(System.currentTimeMillis(), level, name,
+                Thread.currentThread().getName(), SCENARIO.get(), message, error));
+        }
+    }
+
+    static Level parseLevel(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+}
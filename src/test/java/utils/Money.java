@@ -0,0 +1,205 @@
+package utils;
+
+/**
+ * A Turkish lira amount held as whole kuruş, so totals add up exactly.
+ *
+ * <p>{@link #parse(CharSequence)} reads prices the way Trendyol prints them:
+ * "1.299,90 TL", "339,90 TL", "-25 TL", "₺1.299", "1.299,90 - 1.499,90 TL" (first amount of a
+ * range). Dots are thousands separators and the comma is the decimal separator; a dot followed
+ * by only one or two digits ("339.90") is read as a decimal point as well.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long kurus;
+
+    private Money(long kurus) {
+        this.kurus = kurus;
+    }
+
+    public static Money ofKurus(long kurus) {
+        return kurus == 0 ? ZERO : new Money(kurus);
+    }
+
+    public static Money ofLira(long lira) {
+        return ofKurus(Math.multiplyExact(lira, 100));
+    }
+
+    /**
+     * Parses the first amount in {@code text} in a single pass without creating intermediate
+     * strings.
+     *
+     * @throws NumberFormatException if the text has no amount or the amount has more than two
+     *                               decimals
+     */
+    public static Money parse(CharSequence text) {
+        if (text == null) {
+            throw new NumberFormatException("No price in null");
+        }
+        boolean started = false;
+        int firstDigit = -1;
+        long digits = 0;
+        // Separator seen after the last digit group; only counts once another digit follows it
+        char pendingSeparator = 0;
+        char lastSeparator = 0;
+        boolean commaSeen = false;
+        int digitsAfterSeparator = 0;
+
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (pendingSeparator != 0) {
+                    lastSeparator = pendingSeparator;
+                    commaSeen |= pendingSeparator == ',';
+                    digitsAfterSeparator = 0;
+                    pendingSeparator = 0;
+                }
+                if (digits > (Long.MAX_VALUE - 9) / 10) {
+                    throw new NumberFormatException("Price too large: " + text);
+                }
+                digits = digits * 10 + (c - '0');
+                digitsAfterSeparator++;
+                if (!started) {
+                    firstDigit = i;
+                    started = true;
+                }
+            } else if (started && (c == '.' || c == ',') && pendingSeparator == 0) {
+                pendingSeparator = c;
+            } else if (started) {
+                // Anything else ends the amount, including the dash of a range
+                break;
+            }
+        }
+        if (!started) {
+            throw new NumberFormatException("No price in '" + text + "'");
+        }
+
+        long kurus;
+        boolean decimal = lastSeparator == ','
+            || (lastSeparator == '.' && !commaSeen && digitsAfterSeparator <= 2);
+        if (!decimal) {
+            kurus = Math.multiplyExact(digits, 100);
+        } else if (digitsAfterSeparator == 2) {
+            kurus = digits;
+        } else if (digitsAfterSeparator == 1) {
+            kurus = Math.multiplyExact(digits, 10);
+        } else {
+            throw new NumberFormatException("More than two decimals in '" + text + "'");
+        }
+        return ofKurus(hasMinusSign(text, firstDigit) ? -kurus : kurus);
+    }
+
+    // A minus is a sign when only a currency symbol separates it from the digits ("-25 TL",
+    // "-₺25"), or when it starts the text ("- 25 TL"). The dash in "Ürün - 1.299,90 TL" is not.
+    private static boolean hasMinusSign(CharSequence text, int firstDigit) {
+        int i = firstDigit - 1;
+        boolean spaced = false;
+        while (i >= 0) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                spaced = true;
+                i--;
+            } else if (c == '\u20BA') {
+                i--;
+            } else if (c == 'L' && i > 0 && text.charAt(i - 1) == 'T') {
+                i -= 2;
+            } else {
+                break;
+            }
+        }
+        if (i < 0 || (text.charAt(i) != '-' && text.charAt(i) != '\u2212')) {
+            return false;
+        }
+        if (!spaced) {
+            return true;
+        }
+        for (int j = i - 1; j >= 0; j--) {
+            if (!Character.isWhitespace(text.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Like {@link #parse(CharSequence)} but returns {@code null} for text without a usable amount.
+     */
+    public static Money tryParse(CharSequence text) {
+        try {
+            return parse(text);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    public long getKurus() {
+        return kurus;
+    }
+
+    public Money plus(Money other) {
+        return ofKurus(Math.addExact(kurus, other.kurus));
+    }
+
+    public Money minus(Money other) {
+        return ofKurus(Math.subtractExact(kurus, other.kurus));
+    }
+
+    public Money times(int quantity) {
+        return ofKurus(Math.multiplyExact(kurus, quantity));
+    }
+
+    public Money negate() {
+        return ofKurus(-kurus);
+    }
+
+    public Money abs() {
+        return kurus < 0 ? negate() : this;
+    }
+
+    public boolean isZero() {
+        return kurus == 0;
+    }
+
+    public boolean isPositive() {
+        return kurus > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(kurus, other.kurus);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).kurus == kurus;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(kurus);
+    }
+
+    /**
+     * Formats like the site does, e.g. "1.299,90 TL".
+     */
+    @Override
+    public String toString() {
+        long absolute = Math.abs(kurus);
+        String lira = Long.toString(absolute / 100);
+        StringBuilder sb = new StringBuilder(lira.length() + 8);
+        if (kurus < 0) {
+            sb.append('-');
+        }
+        for (int i = 0; i < lira.length(); i++) {
+            if (i > 0 && (lira.length() - i) % 3 == 0) {
+                sb.append('.');
+            }
+            sb.append(lira.charAt(i));
+        }
+        long fraction = absolute % 100;
+        sb.append(',').append(fraction < 10 ? "0" : "").append(fraction).append(" TL");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MoneyTest {
+
+    @Test
+    public void parsesSitePrices() {
+        assertEquals(Money.ofKurus(189900), Money.parse("1.899,00 TL"));
+        assertEquals(Money.ofKurus(33990), Money.parse("339,90 TL"));
+        assertEquals(Money.ofKurus(129900), Money.parse("₺1.299"));
+    }
+
+    @Test
+    public void readsDotFollowedByThreeDigitsAsThousands() {
+        assertEquals(Money.ofLira(1899), Money.parse("1.899"));
+        assertEquals(Money.ofLira(1234567), Money.parse("1.234.567 TL"));
+    }
+
+    @Test
+    public void readsShortFractions() {
+        assertEquals(Money.ofKurus(1250), Money.parse("12,5"));
+        assertEquals(Money.ofKurus(33990), Money.parse("339.90"));
+    }
+
+    @Test
+    public void readsNegativeDiscounts() {
+        assertEquals(Money.ofLira(-25), Money.parse("-25 TL"));
+        assertEquals(Money.ofKurus(-2550), Money.parse("−₺25,50"));
+        assertEquals(Money.ofKurus(-2550), Money.parse("-TL 25,50"));
+        assertEquals(Money.ofLira(-25), Money.parse("  - 25 TL"));
+    }
+
+    @Test
+    public void ignoresDashesThatAreNotSigns() {
+        assertEquals(Money.ofKurus(129990), Money.parse("Ürün - 1.299,90 TL"));
+        assertEquals(Money.ofKurus(129990), Money.parse("Kargo-indirim 1.299,90 TL"));
+    }
+
+    @Test
+    public void takesTheFirstAmountOfARange() {
+        assertEquals(Money.ofKurus(129990), Money.parse("1.299,90 - 1.499,90 TL"));
+        assertEquals(Money.ofLira(100), Money.parse("100-200 TL"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectsTextWithoutAmount() {
+        Money.parse("Fiyat bilgisi yok");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectsNull() {
+        Money.parse(null);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectsMoreThanTwoDecimals() {
+        Money.parse("12,345 TL");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectsOverflow() {
+        Money.parse("99999999999999999999 TL");
+    }
+
+    @Test
+    public void tryParseReturnsNullForUnusableText() {
+        assertNull(Money.tryParse(""));
+        assertNull(Money.tryParse("TL"));
+        assertNull(Money.tryParse("1,234"));
+    }
+
+    @Test
+    public void formatsLikeTheSite() {
+        assertEquals("1.299,90 TL", Money.ofKurus(129990).toString());
+        assertEquals("-25,05 TL", Money.ofKurus(-2505).toString());
+        assertEquals("0,00 TL", Money.ZERO.toString());
+    }
+
+    @Test
+    public void addsExactly() {
+        Money total = Money.parse("0,10 TL").plus(Money.parse("0,20 TL"));
+        assertEquals(Money.parse("0,30 TL"), total);
+        assertEquals(Money.parse("1.000,00 TL"), Money.parse("1.299,90 TL").minus(Money.parse("299,90 TL")));
+    }
+}
@@ -0,0 +1,52 @@
+package utils;
+
+import com.trendyol.storefront.LocalStorefront;
+
+/**
+ * Where the suite points the browser. {@code trendyol.baseUrl} defaults to the live site;
+ * {@code local} starts the embedded stand-in storefront and uses that instead
+ * (e.g. {@code mvn test -Dtrendyol.baseUrl=local}). Any other value is taken as is, which
+ * is handy for a staging host.
+ */
+public final class SiteUrls {
+
+    private static final String LIVE = "https://www.trendyol.com";
+
+    private static volatile String baseUrl;
+
+    private SiteUrls() {
+    }
+
+    /**
+     * Base URL without a trailing slash.
+     */
+    public static String baseUrl() {
+        String url = baseUrl;
+        if (url == null) {
+            synchronized (SiteUrls.class) {
+                if (baseUrl == null) {
+                    String configured = TestConfig.getString("trendyol.baseUrl", LIVE);
+                    baseUrl = "local".equalsIgnoreCase(configured)
+                        ? LocalStorefront.start().getBaseUrl()
+                        : configured.replaceAll("/+$", "");
+                }
+                url = baseUrl;
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Absolute URL of {@code path} (which starts with a slash) on the configured site.
+     */
+    public static String of(String path) {
+        return baseUrl() + path;
+    }
+
+    /**
+     * True when the suite runs against the embedded stand-in storefront.
+     */
+    public static boolean isLocalStorefront() {
+        return "local".equalsIgnoreCase(TestConfig.getString("trendyol.baseUrl", ""));
+    }
+}
@@ -0,0 +1,62 @@
+package utils;
+
+/**
+ * Small helper for reading suite settings from system properties
+ * (e.g. {@code mvn test -Ddriver.pool.size=4}).
+ */
+public final class TestConfig {
+
+    private static final Logger LOG = Logger.get(TestConfig.class);
+
+    private TestConfig() {
+    }
+
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value for " + key + ": '" + value + "', using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value for " + key + ": '" + value + "', using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value for " + key + ": '" + value + "', using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
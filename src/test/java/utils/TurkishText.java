@@ -0,0 +1,74 @@
+package utils;
+
+/**
+ * Turkish-aware case and accent folding for comparing product texts.
+ *
+ * <p>Every character goes through one lookup: upper and lower case are merged without the
+ * default locale (so "İ", "I", "ı" and "i" all become "i"), the Turkish letters lose their
+ * accents ("ğ" -> "g", "ş" -> "s", ...) and any whitespace becomes a plain space.
+ */
+public final class TurkishText {
+
+    // Covers Basic Latin, Latin-1 and Latin Extended-A, which is where all Turkish letters live
+    private static final char[] FOLD = new char[0x180];
+
+    static {
+        for (char c = 0; c < FOLD.length; c++) {
+            FOLD[c] = Character.isWhitespace(c) || Character.isSpaceChar(c) ? ' ' : Character.toLowerCase(c);
+        }
+        fold("İIıi", 'i');
+        fold("Ğğ", 'g');
+        fold("Üü", 'u');
+        fold("Şş", 's');
+        fold("Öö", 'o');
+        fold("Çç", 'c');
+    }
+
+    private static void fold(String variants, char target) {
+        for (int i = 0; i < variants.length(); i++) {
+            FOLD[variants.charAt(i)] = target;
+        }
+    }
+
+    private TurkishText() {
+    }
+
+    /**
+     * Folds a single character.
+     */
+    public static char fold(char c) {
+        return c < FOLD.length ? FOLD[c] : Character.toLowerCase(c);
+    }
+
+    /**
+     * Turns {@code text} into a file name of at most {@code maxLength} ASCII letters, digits,
+     * '-' and '_' (Turkish letters folded, everything else collapsed to '_'), so any scenario
+     * name is safe on disk and as a link in the HTML report.
+     */
+    public static String toFileName(String text, int maxLength) {
+        StringBuilder sb = new StringBuilder(Math.min(text.length(), maxLength));
+        for (int i = 0; i < text.length() && sb.length() < maxLength; i++) {
+            char c = fold(text.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-') {
+                sb.append(c);
+            } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '_') {
+                sb.append('_');
+            }
+        }
+        return sb.length() == 0 ? "scenario" : sb.toString();
+    }
+
+    /**
+     * Folds every character of {@code text}, e.g. "İPHONE Kılıf" -> "iphone kilif".
+     */
+    public static String normalize(CharSequence text) {
+        if (text == null) {
+            return "";
+        }
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(text.charAt(i));
+        }
+        return new String(folded);
+    }
+}
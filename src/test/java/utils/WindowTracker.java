@@ -0,0 +1,104 @@
+package utils;
+
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the windows a browser session opens, so switching and cleanup go straight to
+ * known handles instead of scanning {@code getWindowHandles()}.
+ *
+ * <p>The window the session had when it was first seen is the primary one and is never closed.
+ * Every other window is either the dedicated product tab ({@link #openProductTab()}) or one the
+ * page opened and a caller registered with {@link #track(String)}.
+ */
+public final class WindowTracker {
+
+    private static final Logger LOG = Logger.get(WindowTracker.class);
+
+    private static final Map<WebDriver, WindowTracker> INSTANCES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WebDriver driver;
+    private final String primaryWindow;
+    private final Set<String> openedWindows = new LinkedHashSet<>();
+    private String productTab;
+
+    private WindowTracker(WebDriver driver) {
+        this.driver = driver;
+        this.primaryWindow = driver.getWindowHandle();
+    }
+
+    /**
+     * The tracker for {@code driver}; the first call records the current window as primary.
+     */
+    public static WindowTracker of(WebDriver driver) {
+        synchronized (INSTANCES) {
+            return INSTANCES.computeIfAbsent(driver, WindowTracker::new);
+        }
+    }
+
+    public String getPrimaryWindow() {
+        return primaryWindow;
+    }
+
+    /**
+     * Switches to the session's product tab, opening it on first use (or if it was closed).
+     * Later product pages load into the same tab, so there is only ever one extra renderer.
+     */
+    public synchronized String openProductTab() {
+        if (productTab != null) {
+            try {
+                driver.switchTo().window(productTab);
+                return productTab;
+            } catch (NoSuchWindowException e) {
+                openedWindows.remove(productTab);
+                productTab = null;
+            }
+        }
+        driver.switchTo().newWindow(WindowType.TAB);
+        productTab = driver.getWindowHandle();
+        openedWindows.add(productTab);
+        LOG.debug(() -> "Opened product tab " + productTab);
+        return productTab;
+    }
+
+    /**
+     * Registers a window the page opened itself (e.g. a link with {@code target="_blank"}).
+     */
+    public synchronized void track(String handle) {
+        if (!handle.equals(primaryWindow)) {
+            openedWindows.add(handle);
+        }
+    }
+
+    public synchronized int getOpenedWindowCount() {
+        return openedWindows.size();
+    }
+
+    /**
+     * Closes every tracked window and switches back to the primary one. Returns how many
+     * windows were closed.
+     */
+    public synchronized int closeOpenedWindows() {
+        int closed = 0;
+        for (String handle : openedWindows) {
+            try {
+                driver.switchTo().window(handle);
+                driver.close();
+                closed++;
+            } catch (NoSuchWindowException e) {
+                // Already gone, e.g. the page closed it
+            }
+        }
+        openedWindows.clear();
+        productTab = null;
+        driver.switchTo().window(primaryWindow);
+        return closed;
+    }
+}
@@ -7,7 +7,7 @@ Feature: Trendyol Shopping Functionality
     Given I am on the Trendyol homepage
     And I accept cookies if present
 
-  @search
+  @search @search_ui
   Scenario: Search for wireless headphones
     When I search for "kablosuz kulaklik"
     Then search results should be displayed
@@ -32,14 +32,23 @@ Feature: Trendyol Shopping Functionality
 
   @cart_validation_parametric
   Scenario: Add different products to cart
-    When I search for "kablosuz kulaklik"
-    And I add 3 different products to cart
+    Given my cart contains 3 products from search "kablosuz kulaklik"
     Then total price should match sum of individual product prices
 
   @remove_from_cart
   Scenario: Remove item from cart
-    When I search for "kablosuz kulaklik"
-    And I add 2 different products to cart
-    And I remove an item from cart
+    Given my cart contains 2 products from search "kablosuz kulaklik"
+    When I remove an item from cart
     Then item should be removed from cart
     And total price should be updated correctly
+
+  @performance
+  Scenario: Shopping pages stay within their load budgets
+    Then the page should load within 5000 ms
+    And the largest contentful paint should be within 4000 ms
+    When I search for "kablosuz kulaklik"
+    Then the page should load within 5000 ms
+    And the cumulative layout shift should be at most 0.25
+    When I click on the first product from search results
+    Then the page should load within 6000 ms
+    And every page should load within 6000 ms